@@ -0,0 +1,123 @@
+package com.wjc.codetest.benchmark;
+
+import com.wjc.codetest.CodeTestApplication;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.response.BulkItemResult;
+import com.wjc.codetest.product.model.response.BulkProductResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.service.ProductBulkService;
+import com.wjc.codetest.product.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+1. 문제: perf 프로필(SQL 로깅 제거, 풀 크기 계산, statement/plan 캐시, 배치 설정)이 처리량을 얼마나 바꾸는지 비교할 수 없습니다.
+2. 원인: ProductServiceBenchmark는 show-sql을 끈 상태로만 측정
+3. 개선안: 기본 설정(show-sql, format_sql 켜짐)과 perf 프로필을 같은 경로로 여러 스레드에서 측정합니다.
+          show-sql 출력이 JMH 콘솔을 덮지 않도록 stdout은 버리지만, SQL 포맷팅과 동기 출력 비용은 그대로 남습니다.
+          캐시 효과가 섞이지 않도록 상품 캐시는 끕니다.
+          ./gradlew jmh -PjmhIncludes=JdbcProfileBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class JdbcProfileBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int BULK_SIZE = 500;
+    private static final int SEED_REQUEST_SIZE = 10_000;
+
+    @Param({"10000"})
+    int catalogSize;
+
+    @Param({"100"})
+    int categoryCount;
+
+    @Param({"default", "perf"})
+    String profile;
+
+    ConfigurableApplicationContext context;
+    ProductService productService;
+    ProductBulkService productBulkService;
+    List<Long> productIds;
+    PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CodeTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN");
+        if (!"default".equals(profile)) {
+            builder.profiles(profile);
+        }
+        context = builder.run();
+        productService = context.getBean(ProductService.class);
+        productBulkService = context.getBean(ProductBulkService.class);
+        productIds = seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public ProductResponse getProductById() {
+        return productService.getProductById(productIds.get(ThreadLocalRandom.current().nextInt(productIds.size())));
+    }
+
+    @Benchmark
+    public Page<ProductResponse> getListByCategory() {
+        GetProductListRequest request = new GetProductListRequest();
+        request.setCategory(randomCategory());
+        request.setPage(ThreadLocalRandom.current().nextInt(5));
+        request.setSize(PAGE_SIZE);
+        return productService.getListByCategory(request);
+    }
+
+    @Benchmark
+    public BulkProductResponse bulkCreate() {
+        List<BulkCreateProductItem> items = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            items.add(new BulkCreateProductItem(randomCategory(), "benchmark" + i));
+        }
+        return productBulkService.createAll(items);
+    }
+
+    private List<Long> seed() {
+        List<Long> ids = new ArrayList<>(catalogSize);
+        for (int from = 0; from < catalogSize; from += SEED_REQUEST_SIZE) {
+            int to = Math.min(from + SEED_REQUEST_SIZE, catalogSize);
+            List<BulkCreateProductItem> items = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                items.add(new BulkCreateProductItem("category" + (i % categoryCount), "name" + i));
+            }
+            productBulkService.createAll(items).results().stream()
+                    .filter(BulkItemResult::success)
+                    .forEach(result -> ids.add(result.id()));
+        }
+        return ids;
+    }
+
+    private String randomCategory() {
+        return "category" + ThreadLocalRandom.current().nextInt(categoryCount);
+    }
+}
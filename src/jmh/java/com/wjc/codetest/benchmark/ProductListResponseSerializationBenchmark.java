@@ -0,0 +1,41 @@
+package com.wjc.codetest.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wjc.codetest.product.model.response.ProductListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductListResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    ObjectWriter writer;
+    ProductListResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(ProductListResponse.class);
+
+        List<ProductResponse> products = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            products.add(new ProductResponse((long) i, "category" + (i % 10), "name" + i, 0L));
+        }
+        response = new ProductListResponse(products, 500, 10_000L, 0);
+    }
+
+    @Benchmark
+    public byte[] serializeProductListResponse() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,138 @@
+package com.wjc.codetest.benchmark;
+
+import com.wjc.codetest.CodeTestApplication;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.BulkItemResult;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import com.wjc.codetest.product.service.ProductBulkService;
+import com.wjc.codetest.product.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+1. 문제: 성능 개선 전/후를 비교할 수 있는 측정 수단이 없습니다.
+2. 원인: 동작만 검증하는 ProductIntegrationTest만 존재
+3. 개선안: catalogSize 만큼 상품을 적재한 H2 위에서 ProductService의 주요 경로를 처리량과 지연 분포(SampleTime)로 측정합니다.
+          cacheType=none으로 상품 캐시를 끈 상태와 비교할 수 있습니다.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_REQUEST_SIZE = 10_000;
+
+    @Param({"10000"})
+    int catalogSize;
+
+    @Param({"100"})
+    int categoryCount;
+
+    @Param({"caffeine", "none"})
+    String cacheType;
+
+    ConfigurableApplicationContext context;
+    ProductService productService;
+    List<Long> productIds;
+    int deepPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CodeTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.cache.type=" + cacheType,
+                        "logging.level.root=WARN")
+                .run();
+        productService = context.getBean(ProductService.class);
+        productIds = seed(context.getBean(ProductBulkService.class));
+        deepPage = Math.max(0, catalogSize / categoryCount / PAGE_SIZE - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse getProductById() {
+        return productService.getProductById(randomProductId());
+    }
+
+    @Benchmark
+    public Page<ProductResponse> getListByCategoryShallowPage() {
+        return productService.getListByCategory(listRequest(0));
+    }
+
+    @Benchmark
+    public Page<ProductResponse> getListByCategoryDeepPage() {
+        return productService.getListByCategory(listRequest(deepPage));
+    }
+
+    @Benchmark
+    public List<String> getUniqueCategories() {
+        return productService.getUniqueCategories();
+    }
+
+    @Benchmark
+    public ProductSearchResponse searchByName() {
+        return productService.searchByName("name" + ThreadLocalRandom.current().nextInt(100), randomCategory(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ProductResponse create() {
+        return productService.create(new CreateProductRequest(randomCategory(), "benchmark"));
+    }
+
+    @Benchmark
+    public ProductResponse update() {
+        return productService.update(new UpdateProductRequest(randomProductId(), randomCategory(), "benchmark"), null);
+    }
+
+    private List<Long> seed(ProductBulkService productBulkService) {
+        List<Long> ids = new ArrayList<>(catalogSize);
+        for (int from = 0; from < catalogSize; from += SEED_REQUEST_SIZE) {
+            int to = Math.min(from + SEED_REQUEST_SIZE, catalogSize);
+            List<BulkCreateProductItem> items = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                items.add(new BulkCreateProductItem("category" + (i % categoryCount), "name" + i));
+            }
+            productBulkService.createAll(items).results().stream()
+                    .filter(BulkItemResult::success)
+                    .forEach(result -> ids.add(result.id()));
+        }
+        return ids;
+    }
+
+    private GetProductListRequest listRequest(int page) {
+        GetProductListRequest request = new GetProductListRequest();
+        request.setCategory(randomCategory());
+        request.setPage(page);
+        request.setSize(PAGE_SIZE);
+        return request;
+    }
+
+    private long randomProductId() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    private String randomCategory() {
+        return "category" + ThreadLocalRandom.current().nextInt(categoryCount);
+    }
+}
@@ -2,8 +2,26 @@ package com.wjc.codetest;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+/*
+1. 문제: 캐시와 트랜잭션 어드바이스의 순서가 정해져 있지 않으면 커밋 전에 캐시가 갱신되어 롤백된 값이 캐시에 남을 수 있습니다.
+2. 원인: @EnableCaching, @EnableTransactionManagement 모두 기본 order가 LOWEST_PRECEDENCE
+3. 개선안: 캐시 어드바이스를 트랜잭션보다 바깥에 두어 커밋이 끝난 뒤에 @CachePut/@CacheEvict가 적용되도록 합니다.
+*/
+/*
+1. 문제: r2dbc-h2가 클래스패스에 있으면 R2DBC 커넥션 팩토리와 R2dbcTransactionManager가 자동 등록되어
+        JPA 트랜잭션 매니저와 함께 두 개가 되고 @Transactional이 어느 매니저를 쓸지 정하지 못합니다.
+2. 원인: R2dbcAutoConfiguration, R2dbcTransactionManagerAutoConfiguration
+3. 개선안: 자동 설정을 제외하고 reactive 조회 API가 켜졌을 때만 ReactiveReadServerConfig에서 커넥션 풀을 직접 만듭니다.
+*/
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class CodeTestApplication {
 
     public static void main(String[] args) {
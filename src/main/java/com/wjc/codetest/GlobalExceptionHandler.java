@@ -1,6 +1,15 @@
 package com.wjc.codetest;
 
+import com.wjc.codetest.product.controller.ProductETag;
+import com.wjc.codetest.product.exception.ProductNotModifiedException;
+import com.wjc.codetest.product.exception.ProductOverloadedException;
+import com.wjc.codetest.product.exception.ProductPreconditionFailedException;
+import com.wjc.codetest.product.exception.ProductRateLimitedException;
+import com.wjc.codetest.product.exception.ProductWriteBehindFullException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -51,4 +60,103 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
+
+    @ResponseBody
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> illegalArgumentException(IllegalArgumentException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.BAD_REQUEST,
+                "illegalArgumentException",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    @ResponseBody
+    @ExceptionHandler(ProductNotModifiedException.class)
+    public ResponseEntity<Void> notModifiedException(ProductNotModifiedException e) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(e.getETag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    @ResponseBody
+    @ExceptionHandler(ProductPreconditionFailedException.class)
+    public ResponseEntity<String> preconditionFailedException(ProductPreconditionFailedException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.PRECONDITION_FAILED,
+                "preconditionFailedException",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(ProductETag.of(e.getCurrentVersion()))
+                .body(e.getMessage());
+    }
+
+    /*
+    1. 문제: If-Match 비교 이후 커밋 전에 다른 요청이 같은 상품을 수정하면 500으로 응답합니다.
+    2. 원인: @Version 조건의 UPDATE가 0건이면 ObjectOptimisticLockingFailureException 발생
+    3. 개선안: 클라이언트가 다시 조회 후 재시도할 수 있도록 412로 응답합니다.
+    */
+    @ResponseBody
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> optimisticLockingFailureException(ObjectOptimisticLockingFailureException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.PRECONDITION_FAILED,
+                "optimisticLockingFailureException",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("product was modified concurrently");
+    }
+
+    @ResponseBody
+    @ExceptionHandler(ProductWriteBehindFullException.class)
+    public ResponseEntity<String> writeBehindFullException(ProductWriteBehindFullException e) {
+        log.warn("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "writeBehindFullException",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    /*
+    1. 문제: 거절된 요청마다 경고 로그를 남기면 과부하 상황에서 로그가 다시 부하가 됩니다.
+    2. 원인: 요청 단위 로그
+    3. 개선안: 거절 건수는 product.requests.shed 지표로 보고 로그는 debug로만 남깁니다.
+    */
+    @ResponseBody
+    @ExceptionHandler(ProductRateLimitedException.class)
+    public ResponseEntity<String> rateLimitedException(ProductRateLimitedException e) {
+        log.debug("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.TOO_MANY_REQUESTS,
+                "rateLimitedException",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    @ResponseBody
+    @ExceptionHandler(ProductOverloadedException.class)
+    public ResponseEntity<String> overloadedException(ProductOverloadedException e) {
+        log.debug("status :: {}, errorType :: {}, errorCause :: {}",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "overloadedException",
+                e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
 }
@@ -0,0 +1,49 @@
+package com.wjc.codetest.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/*
+1. 문제: Hikari 풀 크기가 기본값(10)이라 서버 코어 수와 무관하게 정해지고, 크게 잡으면 DB에서 커넥션끼리 경합만 늘어납니다.
+2. 원인: spring.datasource.hikari.maximum-pool-size 미설정
+3. 개선안: HikariCP 권장식 connections = core_count * core-multiplier + effective_spindle_count 로 풀 크기를 계산하고
+          minimum-idle도 같은 값으로 맞춰 고정 크기 풀로 운영합니다.
+          @ConfigurationProperties 바인딩이 끝난 뒤(postProcessAfterInitialization), 풀이 처음 커넥션을 얻기 전에 적용되므로
+          spring.datasource.hikari.maximum-pool-size 값보다 우선합니다. replica 풀에도 같은 식이 적용됩니다.
+*/
+@Slf4j
+public class HikariPoolSizingPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final int poolSize;
+
+    public HikariPoolSizingPostProcessor(int coreCount, int coreMultiplier, int effectiveSpindleCount) {
+        if (coreCount < 0 || coreMultiplier < 1 || effectiveSpindleCount < 0) {
+            throw new IllegalArgumentException("invalid pool sizing: coreCount=" + coreCount
+                    + ", coreMultiplier=" + coreMultiplier + ", effectiveSpindleCount=" + effectiveSpindleCount);
+        }
+        int cores = coreCount == 0 ? Runtime.getRuntime().availableProcessors() : coreCount;
+        this.poolSize = Math.max(1, cores * coreMultiplier + effectiveSpindleCount);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /** SlowQueryLoggingPostProcessor가 DataSource를 감싸기 전에 적용되어야 합니다. */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setMinimumIdle(poolSize);
+            log.info("hikari pool sized :: bean={}, poolSize={}", beanName, poolSize);
+        }
+        return bean;
+    }
+}
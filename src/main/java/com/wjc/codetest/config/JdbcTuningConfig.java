@@ -0,0 +1,40 @@
+package com.wjc.codetest.config;
+
+import com.wjc.codetest.metrics.SlowQueryLoggingPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/*
+1. 문제: 풀 크기, SQL 로깅 방식이 기본값이라 운영 부하에 맞춘 JDBC 설정을 켤 방법이 없습니다.
+2. 원인: application.properties에 H2 URL 외의 JDBC 튜닝 설정 부재
+3. 개선안: perf 프로필(application-perf.properties)에서 켜는 두 BeanPostProcessor를 등록합니다.
+          BeanPostProcessor는 다른 빈보다 먼저 만들어져야 하므로 static 메서드로 등록하고 설정은 Environment에서 직접 읽습니다.
+*/
+@Configuration
+public class JdbcTuningConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "product.datasource.pool.sizing.enabled", havingValue = "true")
+    public static HikariPoolSizingPostProcessor hikariPoolSizingPostProcessor(Environment environment) {
+        return new HikariPoolSizingPostProcessor(
+                environment.getProperty("product.datasource.pool.sizing.core-count", Integer.class, 0),
+                environment.getProperty("product.datasource.pool.sizing.core-multiplier", Integer.class, 2),
+                environment.getProperty("product.datasource.pool.sizing.effective-spindle-count", Integer.class, 1));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "product.sql.slow-query.enabled", havingValue = "true")
+    public static SlowQueryLoggingPostProcessor slowQueryLoggingPostProcessor(Environment environment,
+                                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SlowQueryLoggingPostProcessor(
+                environment.getProperty("product.sql.slow-query.threshold", Duration.class, Duration.ofMillis(100)),
+                environment.getProperty("product.sql.slow-query.sample-rate", Double.class, 1.0),
+                meterRegistry);
+    }
+}
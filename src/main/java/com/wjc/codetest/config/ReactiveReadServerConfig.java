@@ -0,0 +1,68 @@
+package com.wjc.codetest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wjc.codetest.product.controller.ProductReactiveHandler;
+import com.wjc.codetest.product.repository.ProductReactiveReader;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/*
+1. 문제: spring-boot-starter-web이 있으면 애플리케이션 전체가 서블릿으로 동작하여 WebFlux 엔드포인트를 함께 둘 수 없습니다.
+        또한 R2DBC 자동 설정은 JPA와 별개의 트랜잭션 매니저를 추가하여 @Transactional이 어느 것을 쓸지 모호해집니다.
+2. 원인: 애플리케이션 타입은 하나만 선택됨, R2dbcTransactionManager 자동 등록
+3. 개선안: product.reactive.enabled=true일 때만 R2DBC 커넥션 풀과 함수형 라우터를 만들고,
+          Tomcat과 별개의 reactor-netty 서버(product.reactive.port)로 제공합니다. R2DBC 자동 설정은 CodeTestApplication에서 제외합니다.
+*/
+@Configuration
+@ConditionalOnProperty(name = "product.reactive.enabled", havingValue = "true")
+public class ReactiveReadServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool productReadConnectionFactory(@Value("${product.reactive.r2dbc.url}") String url,
+                                                       @Value("${spring.datasource.username:}") String username,
+                                                       @Value("${spring.datasource.password:}") String password,
+                                                       @Value("${product.reactive.r2dbc.pool-size:20}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("product-read-r2dbc")
+                .initialSize(Math.min(poolSize, 4))
+                .maxSize(poolSize)
+                .build();
+        return new ConnectionPool(configuration);
+    }
+
+    @Bean
+    public ProductReactiveReader productReactiveReader(ConnectionFactory productReadConnectionFactory) {
+        return new ProductReactiveReader(DatabaseClient.create(productReadConnectionFactory));
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ProductReactiveReader productReactiveReader,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${product.reactive.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveReadServer(
+                RouterFunctions.toHttpHandler(new ProductReactiveHandler(productReactiveReader).routes(), strategies),
+                port);
+    }
+}
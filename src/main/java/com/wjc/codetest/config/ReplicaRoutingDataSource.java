@@ -0,0 +1,35 @@
+package com.wjc.codetest.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/*
+1. 문제: 읽기 트랜잭션도 모두 primary DB로 가서 읽기 트래픽을 분리할 수 없습니다.
+2. 원인: 단일 DataSource
+3. 개선안: 현재 트랜잭션이 readOnly이면 replica, 아니면 primary 커넥션을 사용합니다.
+          트랜잭션 매니저는 readOnly 여부가 동기화 매니저에 기록되기 전에 커넥션을 얻으므로
+          LazyConnectionDataSourceProxy로 감싸 첫 SQL 실행 시점에 라우팅 키를 결정합니다.
+*/
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    public static DataSource create(DataSource primary, DataSource replica) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
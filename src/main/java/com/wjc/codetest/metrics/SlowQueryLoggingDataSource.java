@@ -0,0 +1,119 @@
+package com.wjc.codetest.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+1. 문제: spring.jpa.show-sql / format_sql이 모든 SQL을 stdout에 동기로 출력하여 부하 상황에서 처리량을 떨어뜨리고,
+        정작 느린 SQL은 대량의 로그에 묻혀 찾기 어렵습니다.
+2. 원인: 실행 시간과 무관하게 모든 SQL을 출력
+3. 개선안: DataSource를 감싸 Statement 실행 시간을 재고 threshold 이상인 SQL만 WARN으로 남깁니다.
+          느린 SQL이 몰릴 때 로그가 다시 병목이 되지 않도록 sample-rate 비율만 출력하고,
+          건수/시간은 샘플링과 무관하게 product.sql.slow 지표로 모두 기록합니다.
+          Hikari 지표는 DelegatingDataSource를 벗겨 원래 풀을 찾으므로 영향이 없습니다.
+*/
+@Slf4j
+public class SlowQueryLoggingDataSource extends DelegatingDataSource {
+
+    private static final String METRIC_NAME = "product.sql.slow";
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Timer slowQueries;
+    private final Counter sampledOut;
+
+    public SlowQueryLoggingDataSource(DataSource target, Duration threshold, double sampleRate, MeterRegistry meterRegistry) {
+        super(target);
+        if (threshold.isNegative() || sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("invalid slow query settings: threshold=" + threshold + ", sampleRate=" + sampleRate);
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.slowQueries = Timer.builder(METRIC_NAME)
+                .description("SQL statements slower than the slow query threshold")
+                .register(meterRegistry);
+        this.sampledOut = Counter.builder(METRIC_NAME + ".unlogged")
+                .description("Slow SQL statements that were not logged because of sampling")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String preparedSql = args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+                return proxy(method.getReturnType(), statement, (stmt, stmtMethod, stmtArgs) -> execute(stmt, stmtMethod, stmtArgs, preparedSql));
+            }
+            return result;
+        });
+    }
+
+    private Object execute(Object statement, Method method, Object[] args, String preparedSql) throws Throwable {
+        if (!method.getName().startsWith("execute")) {
+            return invoke(statement, method, args);
+        }
+        long startedAt = System.nanoTime();
+        try {
+            return invoke(statement, method, args);
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            if (elapsed >= thresholdNanos) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String sqlArg ? sqlArg : preparedSql;
+                record(sql, method.getName(), elapsed);
+            }
+        }
+    }
+
+    private void record(String sql, String operation, long elapsedNanos) {
+        slowQueries.record(Duration.ofNanos(elapsedNanos));
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        log.warn("slow query :: {}ms {} sql={}", elapsedNanos / 1_000_000, operation, sql);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, TargetInvocationHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(SlowQueryLoggingDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
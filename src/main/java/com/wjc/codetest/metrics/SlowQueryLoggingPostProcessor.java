@@ -0,0 +1,33 @@
+package com.wjc.codetest.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 애플리케이션이 사용하는 dataSource 빈만 SlowQueryLoggingDataSource로 감쌉니다.
+ * replica 구성에서는 라우팅 DataSource가 dataSource 빈이므로 primary/replica 모두 한 번만 계측됩니다.
+ * MeterRegistry는 BeanPostProcessor 등록 시점에 만들지 않도록 감쌀 때 조회합니다.
+ */
+@RequiredArgsConstructor
+public class SlowQueryLoggingPostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    private final Duration threshold;
+    private final double sampleRate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof SlowQueryLoggingDataSource)) {
+            return new SlowQueryLoggingDataSource(dataSource, threshold, sampleRate, meterRegistry.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,33 @@
+package com.wjc.codetest.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/*
+1. 문제: 요청 하나가 몇 개의 SQL을 실행하는지 알 수 없어 update/deleteById의 중복 조회나 N+1 같은 회귀를 발견하기 어렵습니다.
+2. 원인: spring.jpa.show-sql 외에 SQL 관련 계측이 없음
+3. 개선안: Hibernate가 JDBC로 보내기 직전의 SQL을 받는 StatementInspector로 현재 스레드의 실행 횟수를 셉니다.
+          start()를 호출한 스레드에서만 세므로 요청 범위 밖의 SQL은 집계되지 않습니다.
+*/
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
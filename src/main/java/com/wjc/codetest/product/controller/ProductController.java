@@ -1,16 +1,42 @@
 package com.wjc.codetest.product.controller;
 
+import com.wjc.codetest.product.exception.ProductNotModifiedException;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.model.request.BulkUpdateProductItem;
+import com.wjc.codetest.product.model.request.CategorySortType;
 import com.wjc.codetest.product.model.request.CreateProductRequest;
 import com.wjc.codetest.product.model.request.GetProductListRequest;
-import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.request.GetProductMultiListRequest;
+import com.wjc.codetest.product.model.request.GetProductSliceRequest;
 import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.BulkProductResponse;
+import com.wjc.codetest.product.model.response.CategoryListResponse;
+import com.wjc.codetest.product.model.response.ProductChangeFeedResponse;
+import com.wjc.codetest.product.model.response.ProductImportResponse;
+import com.wjc.codetest.product.model.response.ProductCacheStatsResponse;
 import com.wjc.codetest.product.model.response.ProductListResponse;
+import com.wjc.codetest.product.model.response.ProductMultiListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import com.wjc.codetest.product.model.response.ProductSliceResponse;
+import com.wjc.codetest.product.service.ProductBulkService;
+import com.wjc.codetest.product.service.ProductChangeFeed;
+import com.wjc.codetest.product.service.ProductExportService;
+import com.wjc.codetest.product.service.ProductImportService;
 import com.wjc.codetest.product.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 
 /* -------------------------클래스 전체적인 문제-------------------------
@@ -42,16 +68,28 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ProductChangeFeed productChangeFeed;
 
     @GetMapping(value = "/get/product/by/{productId}")
-    public ResponseEntity<Product> getProductById(@PathVariable(name = "productId") Long productId){
-        Product product = productService.getProductById(productId);
-        return ResponseEntity.ok(product);
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable(name = "productId") Long productId,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        ProductResponse product = productService.getProductById(productId);
+        String eTag = ProductETag.of(product.version());
+        if (ProductETag.matchesAny(ifNoneMatch, eTag)) {
+            throw new ProductNotModifiedException(eTag);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(product);
     }
 
     @PostMapping(value = "/create/product")
-    public ResponseEntity<Product> createProduct(@RequestBody CreateProductRequest dto){
-        Product product = productService.create(dto);
+    public ResponseEntity<ProductResponse> createProduct(@RequestBody CreateProductRequest dto){
+        ProductResponse product = productService.create(dto);
         return ResponseEntity.ok(product);
     }
 
@@ -80,9 +118,45 @@ public class ProductController {
     4. 검증: test_updateProduct_1
     */
     @PostMapping(value = "/update/product")
-    public ResponseEntity<Product> updateProduct(@RequestBody UpdateProductRequest dto){
-        Product product = productService.update(dto);
-        return ResponseEntity.ok(product);
+    public ResponseEntity<ProductResponse> updateProduct(@RequestBody UpdateProductRequest dto,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        ProductResponse product = productService.update(dto, ProductETag.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ProductETag.of(product.version())).body(product);
+    }
+
+    @PostMapping(value = "/create/product/bulk")
+    public ResponseEntity<BulkProductResponse> createProducts(@RequestBody List<BulkCreateProductItem> items){
+        BulkProductResponse result = productBulkService.createAll(items);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/update/product/bulk")
+    public ResponseEntity<BulkProductResponse> updateProducts(@RequestBody List<BulkUpdateProductItem> items){
+        BulkProductResponse result = productBulkService.updateAll(items);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/delete/product/bulk")
+    public ResponseEntity<BulkProductResponse> deleteProducts(@RequestBody List<Long> productIds){
+        BulkProductResponse result = productBulkService.deleteAll(productIds);
+        return ResponseEntity.ok(result);
+    }
+
+    /*
+    1. 문제: @RequestBody나 MultipartFile로 받으면 업로드 전체가 메모리나 임시 파일에 먼저 적재됩니다.
+    2. 원인: 본문 전체를 바인딩
+    3. 개선안: 요청 본문 InputStream을 그대로 넘겨 한 줄씩 읽으면서 적재합니다.
+    */
+    @PostMapping(value = "/import/product", consumes = "text/csv")
+    public ResponseEntity<ProductImportResponse> importProductsFromCsv(InputStream body) throws IOException {
+        ProductImportResponse result = productImportService.importCsv(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import/product", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ProductImportResponse> importProductsFromNdjson(InputStream body) throws IOException {
+        ProductImportResponse result = productImportService.importNdjson(body);
+        return ResponseEntity.ok(result);
     }
 
     /*
@@ -93,10 +167,39 @@ public class ProductController {
     */
     @PostMapping(value = "/product/list")
     public ResponseEntity<ProductListResponse> getProductListByCategory(@RequestBody GetProductListRequest dto){
-        Page<Product> productList = productService.getListByCategory(dto);
+        Page<ProductResponse> productList = productService.getListByCategory(dto);
         return ResponseEntity.ok(new ProductListResponse(productList.getContent(), productList.getTotalPages(), productList.getTotalElements(), productList.getNumber()));
     }
 
+    /*
+    1. 문제: 폴링 요청 대부분이 같은 결과를 받는데도 매번 조회/직렬화/전송 비용을 모두 지불합니다. POST는 HTTP 캐시 대상도 아닙니다.
+    2. 원인: POST /product/list, ETag 미지원
+    3. 개선안: 같은 조회를 GET 쿼리 파라미터로 제공하고 카탈로그 버전 ETag가 If-None-Match와 같으면 DB 조회 없이 304를 반환합니다.
+              Cache-Control: no-cache로 클라이언트가 매번 재검증하게 하여 변경 직후에도 오래된 목록을 쓰지 않게 합니다.
+    */
+    @GetMapping(value = "/product/list")
+    public ResponseEntity<ProductListResponse> getProductList(@ModelAttribute GetProductListRequest dto,
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        String eTag = checkCatalogNotModified(ifNoneMatch);
+        Page<ProductResponse> productList = productService.getListByCategory(dto);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ProductListResponse(productList.getContent(), productList.getTotalPages(), productList.getTotalElements(), productList.getNumber()));
+    }
+
+    @PostMapping(value = "/product/list/multi")
+    public ResponseEntity<ProductMultiListResponse> getProductListByCategories(@RequestBody GetProductMultiListRequest dto){
+        ProductMultiListResponse productList = productService.getListByCategories(dto);
+        return ResponseEntity.ok(productList);
+    }
+
+    @PostMapping(value = "/product/list/cursor")
+    public ResponseEntity<ProductSliceResponse> getProductSliceByCategory(@RequestBody GetProductSliceRequest dto){
+        ProductSliceResponse productSlice = productService.getSliceByCategory(dto);
+        return ResponseEntity.ok(productSlice);
+    }
+
     /*
     1. 문제: 카테고리 데이터가 많을 시 리스트에 전부 로딩하여 비용 소모가 큽니다.
     2. 원인: ResponseEntity<List<String>> getProductListByCategory()
@@ -109,8 +212,58 @@ public class ProductController {
     3. 개선안: getCategoryList() 같은 메소드 이름으로 사용합니다.
     */
     @GetMapping(value = "/product/category/list")
-    public ResponseEntity<List<String>> getProductListByCategory(){
+    public ResponseEntity<List<String>> getProductListByCategory(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        String eTag = checkCatalogNotModified(ifNoneMatch);
         List<String> uniqueCategories = productService.getUniqueCategories();
-        return ResponseEntity.ok(uniqueCategories);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(uniqueCategories);
+    }
+
+    @GetMapping(value = "/product/category/page")
+    public ResponseEntity<CategoryListResponse> getCategoryPage(@RequestParam(name = "page", defaultValue = "0") int page,
+                                                                @RequestParam(name = "size", defaultValue = "20") int size,
+                                                                @RequestParam(name = "sort", defaultValue = "NAME") CategorySortType sort){
+        CategoryListResponse categories = productService.getCategories(page, size, sort);
+        return ResponseEntity.ok(categories);
+    }
+
+    @GetMapping(value = "/product/search")
+    public ResponseEntity<ProductSearchResponse> searchProducts(@RequestParam(name = "q") String query,
+                                                                @RequestParam(name = "category", required = false) String category,
+                                                                @RequestParam(name = "limit", defaultValue = "20") int limit){
+        ProductSearchResponse result = productService.searchByName(query, category, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping(value = "/product/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(name = "category", required = false) String category){
+        StreamingResponseBody body = outputStream -> productExportService.exportTo(category, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/product/changes")
+    public DeferredResult<ProductChangeFeedResponse> getProductChanges(@RequestParam(name = "after", defaultValue = "0") long after,
+                                                                       @RequestParam(name = "limit", defaultValue = "100") int limit,
+                                                                       @RequestParam(name = "waitSeconds", defaultValue = "0") int waitSeconds){
+        return productChangeFeed.poll(after, limit, Duration.ofSeconds(waitSeconds));
+    }
+
+    @GetMapping(value = "/product/cache/stats")
+    public ResponseEntity<ProductCacheStatsResponse> getProductCacheStats(){
+        ProductCacheStatsResponse cacheStats = productService.getCacheStats();
+        return ResponseEntity.ok(cacheStats);
+    }
+
+    /** 조회 전에 카탈로그 ETag를 읽어 두고, If-None-Match와 같으면 304로 응답합니다. */
+    private String checkCatalogNotModified(String ifNoneMatch) {
+        String eTag = productService.getCatalogETag();
+        if (ProductETag.matchesAny(ifNoneMatch, eTag)) {
+            throw new ProductNotModifiedException(eTag);
+        }
+        return eTag;
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.wjc.codetest.product.controller;
+
+/*
+1. 문제: 상품이 바뀌었는지 클라이언트가 알 수 있는 식별자가 없습니다.
+2. 원인: ETag 미지원
+3. 개선안: Product의 @Version 값을 강한 ETag("3")로 사용합니다. W/ 접두사는 무시하며 If-None-Match는 쉼표로 구분된 목록과 *, If-Match는 단일 태그와 *를 처리합니다.
+*/
+public final class ProductETag {
+
+    private static final String WILDCARD = "*";
+
+    private ProductETag() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /** If-None-Match 헤더의 태그 중 하나라도 현재 ETag와 같으면 true */
+    static boolean matchesAny(String header, String current) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        for (String tag : header.split(",")) {
+            String normalized = normalize(tag);
+            if (WILDCARD.equals(normalized) || current.equals(normalized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** If-Match 헤더가 없거나 *이면 null, 아니면 태그의 버전 */
+    static Long parseVersion(String header) {
+        if (header == null || header.isBlank() || WILDCARD.equals(header.strip())) {
+            return null;
+        }
+        String tag = normalize(header);
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("invalid If-Match");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid If-Match");
+        }
+    }
+
+    private static String normalize(String tag) {
+        String stripped = tag.strip();
+        return stripped.startsWith("W/") ? stripped.substring(2) : stripped;
+    }
+}
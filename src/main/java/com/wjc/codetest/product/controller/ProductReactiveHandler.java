@@ -0,0 +1,83 @@
+package com.wjc.codetest.product.controller;
+
+import com.wjc.codetest.product.model.response.ProductListResponse;
+import com.wjc.codetest.product.repository.ProductReactiveReader;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/*
+1. 문제: 조회 트래픽이 몰리면 MVC 스레드 풀 크기만큼만 동시에 처리할 수 있습니다.
+2. 원인: 요청당 스레드 모델
+3. 개선안: 단건/카테고리별 목록/카테고리 목록 조회를 WebFlux 함수형 라우터로 별도 포트에서 제공합니다.
+          응답 형식은 기존 MVC 엔드포인트와 같고, 캐시/ETag/replica 라우팅은 적용되지 않습니다.
+*/
+public class ProductReactiveHandler {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductReactiveReader productReactiveReader;
+
+    public ProductReactiveHandler(ProductReactiveReader productReactiveReader) {
+        this.productReactiveReader = productReactiveReader;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route()
+                .GET("/reactive/product/category/list", deferred(this::getCategoryList))
+                .GET("/reactive/product/list", deferred(this::getProductList))
+                .GET("/reactive/product/{productId}", deferred(this::getProductById))
+                .onError(IllegalArgumentException.class, (e, request) -> ServerResponse.badRequest().bodyValue(e.getMessage()))
+                .build();
+    }
+
+    /** 파라미터 검증 예외도 onError에서 처리되도록 핸들러 호출을 Mono 안으로 미룹니다. */
+    private HandlerFunction<ServerResponse> deferred(HandlerFunction<ServerResponse> handler) {
+        return request -> Mono.defer(() -> handler.handle(request));
+    }
+
+    private Mono<ServerResponse> getProductById(ServerRequest request) {
+        Long productId = parseLong(request.pathVariable("productId"), "productId");
+        return productReactiveReader.findById(productId)
+                .flatMap(product -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(product))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private Mono<ServerResponse> getProductList(ServerRequest request) {
+        String category = request.queryParam("category")
+                .orElseThrow(() -> new IllegalArgumentException("category is required"));
+        int page = (int) parseLong(request.queryParam("page").orElse("0"), "page");
+        int size = (int) parseLong(request.queryParam("size").orElse("20"), "size");
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return Mono.zip(productReactiveReader.findByCategory(category, page, size).collectList(),
+                        productReactiveReader.countByCategory(category))
+                .map(result -> {
+                    long totalElements = result.getT2();
+                    int totalPages = (int) ((totalElements + size - 1) / size);
+                    return new ProductListResponse(result.getT1(), totalPages, totalElements, page);
+                })
+                .flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body));
+    }
+
+    private Mono<ServerResponse> getCategoryList(ServerRequest request) {
+        return productReactiveReader.findCategoryNames()
+                .collectList()
+                .flatMap(categories -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(categories));
+    }
+
+    private long parseLong(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.wjc.codetest.product.controller;
+
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.model.request.BulkUpdateProductItem;
+import com.wjc.codetest.product.model.response.WriteBehindAcceptedResponse;
+import com.wjc.codetest.product.service.ProductWriteBehindService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/*
+1. 문제: 동기 생성/수정/삭제 API는 커밋까지 기다려야 응답합니다.
+2. 원인: 동기 쓰기
+3. 개선안: product.write-behind.enabled=true일 때만 등록되며, 변경이 로그에 기록되면 202 Accepted로 바로 응답합니다.
+*/
+@RestController
+@RequestMapping("/async")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "product.write-behind.enabled", havingValue = "true")
+public class ProductWriteBehindController {
+    private final ProductWriteBehindService productWriteBehindService;
+
+    @PostMapping(value = "/create/product")
+    public ResponseEntity<WriteBehindAcceptedResponse> createProduct(@RequestBody BulkCreateProductItem item){
+        WriteBehindAcceptedResponse accepted = productWriteBehindService.acceptCreate(item);
+        return ResponseEntity.accepted().body(accepted);
+    }
+
+    @PostMapping(value = "/update/product")
+    public ResponseEntity<WriteBehindAcceptedResponse> updateProduct(@RequestBody BulkUpdateProductItem item){
+        WriteBehindAcceptedResponse accepted = productWriteBehindService.acceptUpdate(item);
+        return ResponseEntity.accepted().body(accepted);
+    }
+
+    @PostMapping(value = "/delete/product/{productId}")
+    public ResponseEntity<WriteBehindAcceptedResponse> deleteProduct(@PathVariable(name = "productId") Long productId){
+        WriteBehindAcceptedResponse accepted = productWriteBehindService.acceptDelete(productId);
+        return ResponseEntity.accepted().body(accepted);
+    }
+}
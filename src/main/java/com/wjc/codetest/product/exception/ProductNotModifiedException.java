@@ -0,0 +1,19 @@
+package com.wjc.codetest.product.exception;
+
+import lombok.Getter;
+
+/*
+1. 문제: 클라이언트가 가진 버전과 현재 버전이 같아도 매번 본문 전체를 직렬화하여 내려줍니다.
+2. 원인: If-None-Match 미지원
+3. 개선안: 상품 버전(또는 목록 조회는 카탈로그 버전)이 같으면 이 예외를 던지고 GlobalExceptionHandler에서 본문 없이 304와 ETag만 반환합니다.
+*/
+@Getter
+public class ProductNotModifiedException extends RuntimeException {
+
+    private final String eTag;
+
+    public ProductNotModifiedException(String eTag) {
+        super("product not modified");
+        this.eTag = eTag;
+    }
+}
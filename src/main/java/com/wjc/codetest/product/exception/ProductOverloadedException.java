@@ -0,0 +1,19 @@
+package com.wjc.codetest.product.exception;
+
+import lombok.Getter;
+
+/*
+1. 문제: 처리 한도를 넘는 요청까지 받으면 커넥션 풀 대기열에 쌓여 모든 요청이 느려집니다.
+2. 원인: 동시 처리 한도 부재
+3. 개선안: 동시 처리 한도를 넘은 요청은 바로 이 예외를 던지고 GlobalExceptionHandler에서 503과 Retry-After로 응답합니다.
+*/
+@Getter
+public class ProductOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ProductOverloadedException(long retryAfterSeconds) {
+        super("server is overloaded");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.wjc.codetest.product.exception;
+
+import lombok.Getter;
+
+/*
+1. 문제: 클라이언트가 조회한 이후 다른 요청이 상품을 수정했는데도 그대로 덮어씁니다.
+2. 원인: If-Match 미지원
+3. 개선안: If-Match의 버전과 현재 버전이 다르면 이 예외를 던지고 GlobalExceptionHandler에서 412와 현재 ETag를 반환합니다.
+*/
+@Getter
+public class ProductPreconditionFailedException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public ProductPreconditionFailedException(Long currentVersion) {
+        super("product version mismatch");
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,19 @@
+package com.wjc.codetest.product.exception;
+
+import lombok.Getter;
+
+/*
+1. 문제: 한 클라이언트가 요청을 과도하게 보내면 다른 클라이언트의 지연까지 늘어납니다.
+2. 원인: 클라이언트별 요청 한도 부재
+3. 개선안: 클라이언트의 토큰 버킷이 비면 이 예외를 던지고 GlobalExceptionHandler에서 429와 다음 토큰까지의 Retry-After로 응답합니다.
+*/
+@Getter
+public class ProductRateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ProductRateLimitedException(long retryAfterSeconds) {
+        super("rate limit exceeded");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
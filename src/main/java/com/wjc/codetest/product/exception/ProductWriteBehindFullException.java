@@ -0,0 +1,19 @@
+package com.wjc.codetest.product.exception;
+
+import lombok.Getter;
+
+/*
+1. 문제: 반영 속도보다 빠르게 변경이 들어오면 대기열과 로그 파일이 끝없이 커집니다.
+2. 원인: 제한 없는 비동기 대기열
+3. 개선안: 대기열이 가득 차면 이 예외를 던지고 GlobalExceptionHandler에서 503과 Retry-After로 응답하여 클라이언트가 늦춰 보내게 합니다.
+*/
+@Getter
+public class ProductWriteBehindFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ProductWriteBehindFullException(long retryAfterSeconds) {
+        super("write-behind queue is full");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
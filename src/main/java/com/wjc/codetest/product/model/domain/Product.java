@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(name = "product", indexes = @Index(name = "idx_product_category_id", columnList = "category, product_id"))
 @Getter
 
 /*
@@ -16,6 +17,14 @@ import lombok.Setter;
 @Setter
 public class Product {
 
+    /*
+    1. 문제: 시퀀스를 행마다 조회하면 INSERT 한 건당 시퀀스 조회가 한 번씩 추가됩니다.
+    2. 원인: allocationSize = 1
+    3. 개선안: 시퀀스 증가폭과 allocationSize를 hibernate.jdbc.batch_size와 같게 맞추고 pooled-lo 최적화로 메모리에서 id를 할당합니다.
+              optimizer는 hibernate.id.optimizer.pooled.preferred 설정으로 변경할 수 있으며 DB 시퀀스의 INCREMENT BY는 이 값과 같아야 합니다.
+    */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @Column(name = "product_id")
     /*
@@ -23,22 +32,41 @@ public class Product {
             H2 데이터베이스는 인메모리 데이터베이스이므로 임시로 사용하는 데이터베이스입니다. 따라서 데이터베이스 변경 시 전략 문제가 발생할 수 있습니다.
     2. 원인: @GeneratedValue(strategy = GenerationType.AUTO)
     3. 개선안: H2 데이터베이스는 시퀀스 기반이므로 @GeneratedValue(strategy = GenerationType.SEQUENCE)로 수정합니다.
-    4. 검증:
+    4. 검증: ProductIdGenerationTest
     */
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /*
     1. 문제: column명만 정의되어 있고 다른 옵션이 선언되지 않았습니다.
     2. 원인: @Column(name = "category"), @Column(name = "name")
     3. 개선안: @Column의 nullable 옵션을 사용하여 null 값 여부를 확인합니다.
-    4. 검증:
+              스키마는 Flyway 마이그레이션(V1__create_product_schema.sql)에서 NOT NULL로 생성합니다.
+    4. 검증: ProductSchemaTest
     */
-    @Column(name = "category")
+    /*
+    1. 문제: category 조회/정렬에 사용할 인덱스가 없어 findAllByCategory와 카테고리 집계가 전체 테이블을 읽습니다.
+    2. 원인: @Table(indexes = ...) 부재, ddl-auto=update에 스키마를 맡김
+    3. 개선안: (category, product_id) 복합 인덱스로 카테고리 조건, ORDER BY category, keyset cursor(product_id > ?)를 모두 인덱스로 처리합니다.
+    4. 검증: ProductSchemaTest
+    */
+    @Column(name = "category", nullable = false)
     private String category;
-    @Column(name = "name")
+    @Column(name = "name", nullable = false)
     private String name;
 
+    /*
+    1. 문제: 같은 상품을 동시에 수정하면 나중에 커밋한 요청이 앞선 변경을 조용히 덮어씁니다.
+    2. 원인: 버전 컬럼 없이 조회 → setter → dirty checking
+    3. 개선안: @Version으로 UPDATE 조건에 버전을 넣어 충돌 시 ObjectOptimisticLockingFailureException이 발생하게 하고
+              이 값을 ETag로 내려 If-Match / If-None-Match 조건부 요청에 사용합니다.
+    4. 검증: test_getProductById_4(), test_updateProduct_2()
+    */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /*
     1. 문제: protected 기본 생성자를 수동으로 작성했는데 Lombok 기능을 통해 수동으로 작성하지 않아도 됩니다.
     2. 원인: protected Product()
@@ -0,0 +1,34 @@
+package com.wjc.codetest.product.model.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+1. 문제: 카테고리 목록을 구하기 위해 매번 product 테이블 전체에 SELECT DISTINCT를 실행합니다.
+2. 원인: 카테고리 정보가 product 테이블에만 존재
+3. 개선안: 카테고리별 상품 수를 별도 테이블에 유지하여 카테고리 목록 조회 비용이 상품 수가 아닌 카테고리 수에 비례하도록 합니다.
+          상품 수는 ProductService의 생성/수정/삭제와 같은 트랜잭션에서 증감합니다.
+*/
+@Entity
+@Table(name = "product_category")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductCategory {
+
+    @Id
+    @Column(name = "category")
+    private String category;
+
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    public ProductCategory(String category, long productCount) {
+        this.category = category;
+        this.productCount = productCount;
+    }
+}
@@ -0,0 +1,58 @@
+package com.wjc.codetest.product.model.domain;
+
+import com.wjc.codetest.product.model.response.ProductResponse;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/*
+1. 문제: 하위 캐시/검색 인덱스가 변경을 알 방법이 없어 /product/list, /product/category/list를 주기적으로 전부 다시 읽습니다.
+2. 원인: 변경 이력 부재
+3. 개선안: 상품 변경과 같은 트랜잭션에서 변경 한 건마다 이 테이블(outbox)에 한 행을 기록하고 seq 순서로 변경 피드를 제공합니다.
+          변경이 롤백되면 outbox 행도 함께 롤백되므로 피드와 상품 테이블이 어긋나지 않습니다.
+          seq는 ProductChangeFeed가 할당하므로 @GeneratedValue를 쓰지 않습니다. (category/name은 변경 직후 값, 삭제는 삭제 직전 값)
+*/
+@Entity
+@Table(name = "product_change")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductChange {
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private OffsetDateTime changedAt;
+
+    public ProductChange(long seq, ProductChangeType changeType, ProductResponse product, OffsetDateTime changedAt) {
+        this.seq = seq;
+        this.changeType = changeType.name();
+        this.productId = product.id();
+        this.category = product.category();
+        this.name = product.name();
+        this.version = product.version();
+        this.changedAt = changedAt;
+    }
+}
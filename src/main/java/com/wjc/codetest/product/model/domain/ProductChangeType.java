@@ -0,0 +1,5 @@
+package com.wjc.codetest.product.model.domain;
+
+public enum ProductChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,28 @@
+package com.wjc.codetest.product.model.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+1. 문제: write-behind 로그를 재기동 시 다시 적용할 때 이미 반영된 변경(특히 생성)이 두 번 적용될 수 있습니다.
+2. 원인: 로그 적용 위치를 DB 변경과 따로 기록
+3. 개선안: 마지막으로 적용한 로그 순번을 상품 변경과 같은 트랜잭션에서 이 테이블에 기록하고, 재적용 시 그 이후 순번만 적용합니다.
+*/
+@Entity
+@Table(name = "write_behind_checkpoint")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WriteBehindCheckpoint {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "applied_seq", nullable = false)
+    private long appliedSeq;
+}
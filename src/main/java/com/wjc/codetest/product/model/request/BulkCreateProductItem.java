@@ -0,0 +1,9 @@
+package com.wjc.codetest.product.model.request;
+
+/*
+1. 문제: CreateProductRequest는 생성자가 여러 개라 배열로 받으면 역직렬화에 실패합니다.
+2. 원인: 여러 개의 생성자
+3. 개선안: 대량 요청은 불변 record로 받습니다. 기존 단건 API의 동작은 바꾸지 않습니다.
+*/
+public record BulkCreateProductItem(String category, String name) {
+}
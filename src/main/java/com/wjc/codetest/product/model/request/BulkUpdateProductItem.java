@@ -0,0 +1,4 @@
+package com.wjc.codetest.product.model.request;
+
+public record BulkUpdateProductItem(Long id, String category, String name) {
+}
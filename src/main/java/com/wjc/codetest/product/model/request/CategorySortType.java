@@ -0,0 +1,18 @@
+package com.wjc.codetest.product.model.request;
+
+import org.springframework.data.domain.Sort;
+
+public enum CategorySortType {
+    NAME(Sort.by(Sort.Direction.ASC, "category")),
+    COUNT(Sort.by(Sort.Direction.DESC, "productCount").and(Sort.by(Sort.Direction.ASC, "category")));
+
+    private final Sort sort;
+
+    CategorySortType(Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort toSort() {
+        return sort;
+    }
+}
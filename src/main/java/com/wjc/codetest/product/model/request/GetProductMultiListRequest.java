@@ -0,0 +1,12 @@
+package com.wjc.codetest.product.model.request;
+
+import java.util.List;
+
+/*
+1. 문제: 카테고리 랜딩 페이지가 카테고리마다 /product/list를 호출하여 카테고리 수 만큼의 목록 쿼리와 COUNT 쿼리가 실행됩니다.
+2. 원인: GetProductListRequest는 category 하나만 받음
+3. 개선안: 여러 카테고리, 선택적인 상품명 접두어, 정렬 키를 받아 카테고리마다 page 번째 size개씩을 한 번에 조회합니다.
+          sort가 없으면 ID 순입니다.
+*/
+public record GetProductMultiListRequest(List<String> categories, String namePrefix, ProductSortType sort, int page, int size) {
+}
@@ -0,0 +1,10 @@
+package com.wjc.codetest.product.model.request;
+
+/*
+1. 문제: offset 기반 목록 조회는 깊은 페이지일수록 page*size 만큼의 행을 읽고 버리며, 매 요청마다 COUNT 쿼리가 추가로 실행됩니다.
+2. 원인: PageRequest.of(page, size) + Page<Product>
+3. 개선안: 마지막으로 본 상품의 위치를 담은 cursor를 받아 그 다음 행부터 size 만큼만 조회합니다. (keyset pagination)
+          cursor가 없으면 첫 페이지를 조회합니다.
+*/
+public record GetProductSliceRequest(String category, String cursor, int size) {
+}
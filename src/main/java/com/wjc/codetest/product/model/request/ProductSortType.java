@@ -0,0 +1,22 @@
+package com.wjc.codetest.product.model.request;
+
+/*
+1. 문제: 정렬 키를 문자열로 받아 SQL에 넣으면 SQL injection에 노출됩니다.
+2. 원인: 사용자 입력 ORDER BY
+3. 개선안: 허용된 정렬만 enum으로 받고 ORDER BY 절은 enum에 고정된 문자열만 사용합니다. 동일 값은 product_id로 순서를 고정합니다.
+*/
+public enum ProductSortType {
+    ID("p.product_id ASC"),
+    NEWEST("p.product_id DESC"),
+    NAME("p.name ASC, p.product_id ASC");
+
+    private final String orderBy;
+
+    ProductSortType(String orderBy) {
+        this.orderBy = orderBy;
+    }
+
+    public String orderBy() {
+        return orderBy;
+    }
+}
@@ -1,7 +1,8 @@
 package com.wjc.codetest.product.model.request;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
@@ -26,6 +27,7 @@ public class UpdateProductRequest {
    1. 문제: 생성자가 여러 개라 역직렬화를 할 생성자를 못고르며 또한 기본 생성자가 없어서 역직렬화에 실패합니다.
    2. 원인: 여러 개의 생성자
    3. 개선안: 하나의 생성자를 사용하던지 여러 생성자를 사용할거면 @NoArgConstructor로 기본 생성자를 만듭니다.
+             기존 호출부를 유지하기 위해 전체 필드 생성자를 @JsonCreator로 지정하여 역직렬화에 사용합니다.
    4. 검증: test_updateProduct_1
    */
     public UpdateProductRequest(Long id) {
@@ -35,7 +37,10 @@ public class UpdateProductRequest {
         this.id = id;
         this.category = category;
     }
-    public UpdateProductRequest(Long id, String category, String name) {
+    @JsonCreator
+    public UpdateProductRequest(@JsonProperty("id") Long id,
+                                @JsonProperty("category") String category,
+                                @JsonProperty("name") String name) {
         this.id = id;
         this.category = category;
         this.name = name;
@@ -0,0 +1,12 @@
+package com.wjc.codetest.product.model.response;
+
+public record BulkItemResult(int index, Long id, boolean success, String error) {
+
+    public static BulkItemResult success(int index, Long id) {
+        return new BulkItemResult(index, id, true, null);
+    }
+
+    public static BulkItemResult failure(int index, Long id, String error) {
+        return new BulkItemResult(index, id, false, error);
+    }
+}
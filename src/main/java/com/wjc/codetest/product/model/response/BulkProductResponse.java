@@ -0,0 +1,11 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+public record BulkProductResponse(int total, int succeeded, int failed, List<BulkItemResult> results) {
+
+    public static BulkProductResponse of(List<BulkItemResult> results) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::success).count();
+        return new BulkProductResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,10 @@
+package com.wjc.codetest.product.model.response;
+
+import com.wjc.codetest.product.model.domain.ProductCategory;
+
+public record CategoryCountResponse(String category, long productCount) {
+
+    public static CategoryCountResponse from(ProductCategory productCategory) {
+        return new CategoryCountResponse(productCategory.getCategory(), productCategory.getProductCount());
+    }
+}
@@ -0,0 +1,6 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+public record CategoryListResponse(List<CategoryCountResponse> categories, int totalPages, long totalElements, int page) {
+}
@@ -0,0 +1,6 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+public record CategoryProductsResponse(String category, long totalElements, List<ProductResponse> products) {
+}
@@ -0,0 +1,10 @@
+package com.wjc.codetest.product.model.response;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record ProductCacheStatsResponse(long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+
+    public static ProductCacheStatsResponse of(long size, CacheStats stats) {
+        return new ProductCacheStatsResponse(size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,15 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/**
+ * nextSeq는 다음 요청의 after로 그대로 넘기면 됩니다.
+ * resyncRequired이면 after 이후의 변경 일부가 보관 기간이 지나 삭제된 것이므로 전체를 다시 읽은 뒤 nextSeq부터 이어 받습니다.
+ */
+public record ProductChangeFeedResponse(List<ProductChangeResponse> changes, long nextSeq, boolean hasMore,
+                                        boolean resyncRequired) {
+
+    public static ProductChangeFeedResponse empty(long after) {
+        return new ProductChangeFeedResponse(List.of(), after, false, false);
+    }
+}
@@ -0,0 +1,14 @@
+package com.wjc.codetest.product.model.response;
+
+import com.wjc.codetest.product.model.domain.ProductChange;
+
+import java.time.Instant;
+
+public record ProductChangeResponse(long seq, String type, Long productId, String category, String name, Long version,
+                                    Instant changedAt) {
+
+    public static ProductChangeResponse from(ProductChange change) {
+        return new ProductChangeResponse(change.getSeq(), change.getChangeType(), change.getProductId(),
+                change.getCategory(), change.getName(), change.getVersion(), change.getChangedAt().toInstant());
+    }
+}
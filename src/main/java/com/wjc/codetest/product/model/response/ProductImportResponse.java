@@ -0,0 +1,16 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/*
+1. 문제: 수백만 행을 가져올 때 거절된 행을 모두 응답에 담으면 응답이 업로드만큼 커질 수 있습니다.
+2. 원인: 거절 행 목록
+3. 개선안: 개수는 모두 집계하되 rejectedRows에는 앞에서부터 일정 개수만 담고 잘렸는지 여부를 함께 내려줍니다.
+*/
+public record ProductImportResponse(long totalRows,
+                                    long imported,
+                                    long rejected,
+                                    List<ImportRejectedRow> rejectedRows,
+                                    boolean rejectedRowsTruncated,
+                                    long elapsedMillis) {
+}
@@ -1,6 +1,5 @@
 package com.wjc.codetest.product.model.response;
 
-import com.wjc.codetest.product.model.domain.Product;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -19,12 +18,12 @@ public class ProductListResponse {
     2. 원인: List<Product> products;
     3. 개선안: List<ProductResponse> items 같이 엔티티를 DTO로 만들어서 사용합니다.
     */
-    private List<Product> products;
+    private List<ProductResponse> products;
     private int totalPages;
     private long totalElements;
     private int page;
 
-    public ProductListResponse(List<Product> content, int totalPages, long totalElements, int number) {
+    public ProductListResponse(List<ProductResponse> content, int totalPages, long totalElements, int number) {
         this.products = content;
         this.totalPages = totalPages;
         this.totalElements = totalElements;
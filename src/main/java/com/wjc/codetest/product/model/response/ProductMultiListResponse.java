@@ -0,0 +1,11 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/*
+1. 문제: 여러 카테고리를 한 번에 조회한 결과를 평평한 목록으로 주면 클라이언트가 다시 카테고리별로 나눠야 합니다.
+2. 원인: 단일 카테고리 응답 형식(ProductListResponse)
+3. 개선안: 요청한 카테고리 순서대로 카테고리별 전체 상품 수와 상품 목록을 묶어서 내려줍니다. 상품이 없는 카테고리도 빈 목록으로 포함합니다.
+*/
+public record ProductMultiListResponse(int page, int size, List<CategoryProductsResponse> categories) {
+}
@@ -0,0 +1,17 @@
+package com.wjc.codetest.product.model.response;
+
+import com.wjc.codetest.product.model.domain.Product;
+
+/*
+1. 문제: 엔티티를 그대로 응답하면 조회 시 영속성 컨텍스트에 엔티티와 dirty checking 스냅샷이 만들어지고 엔티티 구조가 API에 노출됩니다.
+2. 원인: ResponseEntity<Product>, List<Product>
+3. 개선안: 조회 쿼리에서 필요한 컬럼만 이 record로 바로 생성(JPQL constructor expression)하여 응답합니다.
+          불변 객체이므로 캐시에 그대로 보관해도 안전합니다.
+          version은 ETag 생성과 If-Match 비교에 사용합니다.
+*/
+public record ProductResponse(Long id, String category, String name, Long version) {
+
+    public static ProductResponse from(Product product) {
+        return new ProductResponse(product.getId(), product.getCategory(), product.getName(), product.getVersion());
+    }
+}
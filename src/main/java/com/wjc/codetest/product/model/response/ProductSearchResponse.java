@@ -0,0 +1,12 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/*
+1. 문제: 상위 limit개만 내려주면 클라이언트는 검색 결과가 더 있는지 알 수 없습니다.
+2. 원인: top-k 검색
+3. 개선안: 순위대로 정렬된 상위 상품과 함께 조건에 맞은 전체 상품 수(matched)를 내려줍니다.
+          후보가 너무 많아 순회를 중간에 멈췄으면 truncated=true이고 matched는 그때까지 찾은 수(하한값)입니다.
+*/
+public record ProductSearchResponse(List<ProductResponse> products, int matched, boolean truncated) {
+}
@@ -0,0 +1,11 @@
+package com.wjc.codetest.product.model.response;
+
+import java.util.List;
+
+/*
+1. 문제: Slice 조회는 전체 개수를 알 필요가 없으므로 totalPages, totalElements를 내려줄 수 없습니다.
+2. 원인: keyset pagination
+3. 개선안: 다음 페이지 존재 여부와 다음 페이지 조회에 사용할 cursor만 내려줍니다. 마지막 페이지면 nextCursor는 null입니다.
+*/
+public record ProductSliceResponse(List<ProductResponse> products, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,9 @@
+package com.wjc.codetest.product.model.response;
+
+/*
+1. 문제: 비동기로 받은 변경은 아직 id가 없거나 반영 전이라 상품 응답을 돌려줄 수 없습니다.
+2. 원인: write-behind
+3. 개선안: write-ahead log에 기록된 순번만 돌려줍니다.
+*/
+public record WriteBehindAcceptedResponse(long sequence) {
+}
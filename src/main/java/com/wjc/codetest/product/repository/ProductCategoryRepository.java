@@ -0,0 +1,62 @@
+package com.wjc.codetest.product.repository;
+
+import com.wjc.codetest.product.model.domain.ProductCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductCategoryRepository extends JpaRepository<ProductCategory, String> {
+
+    @Query("SELECT c.category FROM ProductCategory c ORDER BY c.category ASC")
+    List<String> findAllCategoryNames();
+
+    /*
+    1. 문제: 조회 후 없으면 INSERT 하는 방식은 동시에 같은 카테고리의 첫 상품이 생성되면 중복 키 오류가 발생합니다.
+    2. 원인: SELECT → INSERT/UPDATE 두 단계
+    3. 개선안: MySQL 모드의 INSERT ... ON DUPLICATE KEY UPDATE로 한 문장에서 원자적으로 증가시킵니다.
+    */
+    @Modifying
+    @Query(value = "INSERT INTO product_category (category, product_count) VALUES (:category, :delta) "
+            + "ON DUPLICATE KEY UPDATE product_count = product_count + :delta", nativeQuery = true)
+    int upsertProductCount(@Param("category") String category, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE ProductCategory c SET c.productCount = c.productCount + :delta WHERE c.category = :category")
+    int addProductCount(@Param("category") String category, @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM ProductCategory c WHERE c.category = :category AND c.productCount <= 0")
+    int deleteIfEmpty(@Param("category") String category);
+
+    @Modifying
+    @Query(value = "INSERT INTO product_category (category, product_count) "
+            + "SELECT p.category, COUNT(*) FROM product p WHERE p.category IS NOT NULL GROUP BY p.category", nativeQuery = true)
+    int insertCountsFromProducts();
+
+    @Query("SELECT c.productCount FROM ProductCategory c WHERE c.category = :category")
+    Optional<Long> findProductCount(@Param("category") String category);
+
+    /*
+    1. 문제: 상품 수와 집계값을 각각 다른 쿼리로 읽으면 그 사이에 커밋된 변경 때문에 어긋나지 않은 카테고리도 어긋난 것으로 보입니다.
+    2. 원인: 두 번의 조회
+    3. 개선안: 실제 상품 수와 집계값의 차이를 한 문장에서 계산하여 같은 시점의 데이터로 비교합니다.
+    */
+    @Query(value = "SELECT d.category AS category, SUM(d.delta) AS delta FROM ("
+            + "SELECT p.category AS category, COUNT(*) AS delta FROM product p GROUP BY p.category "
+            + "UNION ALL "
+            + "SELECT c.category AS category, -c.product_count AS delta FROM product_category c"
+            + ") d GROUP BY d.category HAVING SUM(d.delta) <> 0", nativeQuery = true)
+    List<CategoryCountDrift> findCountDrifts();
+
+    interface CategoryCountDrift {
+        String getCategory();
+
+        long getDelta();
+    }
+}
@@ -0,0 +1,35 @@
+package com.wjc.codetest.product.repository;
+
+import com.wjc.codetest.product.model.domain.ProductChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    @Query(value = "SELECT NEXT VALUE FOR product_change_seq", nativeQuery = true)
+    long nextSeqBlock();
+
+    @Query("SELECT c FROM ProductChange c WHERE c.seq > :after AND c.seq <= :upTo ORDER BY c.seq")
+    List<ProductChange> findRange(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM ProductChange c")
+    long findMaxSeq();
+
+    @Query("SELECT COALESCE(MIN(c.seq), 0) FROM ProductChange c")
+    long findMinSeq();
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM ProductChange c WHERE c.changedAt < :cutoff")
+    long findMaxSeqChangedBefore(@Param("cutoff") OffsetDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.seq <= :upTo")
+    int deleteUpTo(@Param("upTo") long upTo);
+}
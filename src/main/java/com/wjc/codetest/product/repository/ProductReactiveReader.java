@@ -0,0 +1,61 @@
+package com.wjc.codetest.product.repository;
+
+import com.wjc.codetest.product.model.response.ProductResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+1. 문제: JPA/JDBC 조회는 결과가 올 때까지 요청 스레드를 붙잡아 동시 연결 수만큼 스레드가 필요합니다.
+2. 원인: 블로킹 드라이버
+3. 개선안: 같은 H2 데이터베이스를 R2DBC로 조회하여 이벤트 루프 스레드 몇 개로 많은 동시 조회를 처리합니다.
+          ProductRepository의 JPQL projection과 같은 컬럼만 읽어 ProductResponse를 만듭니다.
+*/
+public class ProductReactiveReader {
+
+    private static final String PRODUCT_COLUMNS = "SELECT product_id, category, name, version FROM product ";
+
+    private final DatabaseClient databaseClient;
+
+    public ProductReactiveReader(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ProductResponse> findById(Long productId) {
+        return databaseClient.sql(PRODUCT_COLUMNS + "WHERE product_id = :productId")
+                .bind("productId", productId)
+                .map(ProductReactiveReader::toResponse)
+                .one();
+    }
+
+    public Flux<ProductResponse> findByCategory(String category, int page, int size) {
+        return databaseClient.sql(PRODUCT_COLUMNS + "WHERE category = :category ORDER BY category, product_id LIMIT :limit OFFSET :offset")
+                .bind("category", category)
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(ProductReactiveReader::toResponse)
+                .all();
+    }
+
+    public Mono<Long> countByCategory(String category) {
+        return databaseClient.sql("SELECT COALESCE(MAX(product_count), 0) FROM product_category WHERE category = :category")
+                .bind("category", category)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<String> findCategoryNames() {
+        return databaseClient.sql("SELECT category FROM product_category ORDER BY category")
+                .map(row -> row.get("category", String.class))
+                .all();
+    }
+
+    private static ProductResponse toResponse(Readable row) {
+        return new ProductResponse(
+                row.get("product_id", Long.class),
+                row.get("category", String.class),
+                row.get("name", String.class),
+                row.get("version", Long.class));
+    }
+}
@@ -1,17 +1,25 @@
 package com.wjc.codetest.product.repository;
 
 import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductTopKRepository {
 
     /*
     1. 문제: 카테고리명으로 상품을 찾는데 매개변수는 String name을 사용하여 가독성이 떻어집니다.
@@ -20,6 +28,28 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     */
     Page<Product> findAllByCategory(String name, Pageable pageable);
 
+    @Query("SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) "
+            + "FROM Product p WHERE p.id = :id")
+    Optional<ProductResponse> findResponseById(@Param("id") Long id);
+
+    /*
+    1. 문제: Page 조회는 페이지마다 COUNT 쿼리를 함께 실행하여 큰 카테고리에서는 페이지 조회보다 COUNT가 더 비쌉니다.
+    2. 원인: Page<ProductResponse> 반환 타입의 countQuery
+    3. 개선안: 목록은 COUNT 없이 Slice(size + 1건)로 조회하고, 전체 건수는 product_category의 집계값을 사용합니다.
+    */
+    @Query("SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) "
+            + "FROM Product p WHERE p.category = :category")
+    Slice<ProductResponse> findResponseSliceByCategory(@Param("category") String category, Pageable pageable);
+
+    /*
+    1. 문제: offset 방식은 앞 페이지의 행을 모두 건너뛰어야 하고 COUNT 쿼리가 함께 실행됩니다.
+    2. 원인: Page<Product> findAllByCategory(String name, Pageable pageable)
+    3. 개선안: 마지막으로 본 id 이후의 행만 id 순으로 조회하고 Slice로 반환하여 COUNT 쿼리 없이 size + 1 건으로 다음 페이지 여부만 판단합니다.
+    */
+    @Query("SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) "
+            + "FROM Product p WHERE p.category = :category AND p.id > :lastId ORDER BY p.id ASC")
+    Slice<ProductResponse> findSliceByCategoryAfter(@Param("category") String category, @Param("lastId") Long lastId, Pageable pageable);
+
     /*
     1. 문제: 카테고리 데이터가 많다면 List로 전부 가져오는것은 비용이 너무 많이 듭니다.
     2. 원인: List<String> findDistinctCategories()
@@ -27,4 +57,20 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     */
     @Query("SELECT DISTINCT p.category FROM Product p")
     List<String> findDistinctCategories();
+
+    /*
+    1. 문제: 전체 상품을 Page 단위로 읽으면 페이지마다 COUNT 쿼리가 실행되고 결과 전체가 List로 메모리에 올라갑니다.
+    2. 원인: Page<Product>
+    3. 개선안: fetch size를 지정한 forward-only Stream으로 읽어 JDBC 드라이버가 fetch size 만큼씩만 행을 가져오도록 합니다.
+              Stream은 트랜잭션 안에서 사용하고 사용 후 반드시 close 해야 합니다.
+    */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) "
+            + "FROM Product p ORDER BY p.id ASC")
+    Stream<ProductResponse> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.wjc.codetest.product.model.response.ProductResponse(p.id, p.category, p.name, p.version) "
+            + "FROM Product p WHERE p.category = :category ORDER BY p.id ASC")
+    Stream<ProductResponse> streamAllByCategory(@Param("category") String category);
 }
@@ -0,0 +1,13 @@
+package com.wjc.codetest.product.repository;
+
+import com.wjc.codetest.product.model.request.ProductSortType;
+import com.wjc.codetest.product.model.response.CategoryProductsResponse;
+
+import java.util.List;
+
+public interface ProductTopKRepository {
+
+    /** 카테고리마다 정렬 순서로 offset 다음부터 limit개와 카테고리별 전체 개수를 한 문장으로 조회합니다. */
+    List<CategoryProductsResponse> findTopByCategories(List<String> categories, String namePrefix,
+                                                       ProductSortType sort, long offset, int limit);
+}
@@ -0,0 +1,82 @@
+package com.wjc.codetest.product.repository;
+
+import com.wjc.codetest.product.model.request.ProductSortType;
+import com.wjc.codetest.product.model.response.CategoryProductsResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+1. 문제: 카테고리별 상위 k개는 JPQL로 표현할 수 없어 카테고리마다 쿼리를 따로 실행해야 합니다.
+2. 원인: JPQL은 윈도우 함수를 지원하지 않음
+3. 개선안: ROW_NUMBER() OVER (PARTITION BY category ORDER BY ...)로 카테고리 안의 순번을 매기고
+          COUNT(*) OVER (PARTITION BY category)로 카테고리별 전체 개수를 같은 문장에서 구합니다.
+          요청한 페이지가 카테고리의 상품 수를 넘어도 전체 개수를 알 수 있도록 각 카테고리의 첫 행(rn = 1)은 항상 함께 읽고 응답에서는 제외합니다.
+          category IN (...) 조건은 idx_product_category_id 인덱스로 처리됩니다.
+          상품명 접두어는 LIKE 'prefix%'로 비교하며 %, _ 는 '!'로 이스케이프합니다.
+*/
+@RequiredArgsConstructor
+public class ProductTopKRepositoryImpl implements ProductTopKRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<CategoryProductsResponse> findTopByCategories(List<String> categories, String namePrefix,
+                                                              ProductSortType sort, long offset, int limit) {
+        boolean hasPrefix = namePrefix != null && !namePrefix.isEmpty();
+        String sql = "SELECT ranked.product_id, ranked.category, ranked.name, ranked.version, ranked.category_total, ranked.rn FROM ("
+                + " SELECT p.product_id, p.category, p.name, p.version,"
+                + " ROW_NUMBER() OVER (PARTITION BY p.category ORDER BY " + sort.orderBy() + ") AS rn,"
+                + " COUNT(*) OVER (PARTITION BY p.category) AS category_total"
+                + " FROM product p"
+                + " WHERE p.category IN (:categories)"
+                + (hasPrefix ? " AND p.name LIKE :namePrefix ESCAPE '!'" : "")
+                + ") ranked"
+                + " WHERE (ranked.rn > :offset AND ranked.rn <= :end) OR ranked.rn = 1"
+                + " ORDER BY ranked.category, ranked.rn";
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("categories", categories)
+                .setParameter("offset", offset)
+                .setParameter("end", offset + limit);
+        if (hasPrefix) {
+            query.setParameter("namePrefix", escapeLike(namePrefix) + "%");
+        }
+
+        Map<String, Long> totals = new LinkedHashMap<>();
+        Map<String, List<ProductResponse>> products = new LinkedHashMap<>();
+        for (String category : categories) {
+            totals.put(category, 0L);
+            products.put(category, new ArrayList<>());
+        }
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            String category = (String) columns[1];
+            totals.put(category, ((Number) columns[4]).longValue());
+            if (((Number) columns[5]).longValue() <= offset) {
+                continue;
+            }
+            products.get(category).add(new ProductResponse(
+                    ((Number) columns[0]).longValue(),
+                    category,
+                    (String) columns[2],
+                    ((Number) columns[3]).longValue()));
+        }
+
+        List<CategoryProductsResponse> result = new ArrayList<>(categories.size());
+        products.forEach((category, list) -> result.add(new CategoryProductsResponse(category, totals.get(category), list)));
+        return result;
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+}
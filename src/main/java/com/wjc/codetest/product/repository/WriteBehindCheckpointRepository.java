@@ -0,0 +1,17 @@
+package com.wjc.codetest.product.repository;
+
+import com.wjc.codetest.product.model.domain.WriteBehindCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WriteBehindCheckpointRepository extends JpaRepository<WriteBehindCheckpoint, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO write_behind_checkpoint (name, applied_seq) VALUES (:name, :appliedSeq) "
+            + "ON DUPLICATE KEY UPDATE applied_seq = GREATEST(applied_seq, :appliedSeq)", nativeQuery = true)
+    int advance(@Param("name") String name, @Param("appliedSeq") long appliedSeq);
+}
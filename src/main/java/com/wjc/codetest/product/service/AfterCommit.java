@@ -0,0 +1,28 @@
+package com.wjc.codetest.product.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+1. 문제: 메모리에 두는 파생 데이터(카탈로그 버전, 검색 인덱스)를 트랜잭션 안에서 바로 바꾸면 롤백 시 되돌릴 수 없습니다.
+2. 원인: DB 트랜잭션과 메모리 상태의 생명주기가 다름
+3. 개선안: 트랜잭션이 있으면 커밋 이후에, 없으면 즉시 실행합니다.
+*/
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
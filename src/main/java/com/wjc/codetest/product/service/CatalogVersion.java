@@ -0,0 +1,33 @@
+package com.wjc.codetest.product.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+1. 문제: 카탈로그가 바뀌지 않았는데도 목록/카테고리 조회마다 DB를 조회하고 같은 본문을 다시 내려줍니다.
+2. 원인: 변경 여부를 알 수 있는 값이 없음
+3. 개선안: 상품 쓰기가 커밋될 때마다 증가하는 카탈로그 버전을 두고 목록 응답의 ETag로 사용합니다.
+          커밋 전에 올리면 변경 전 데이터가 새 ETag로 캐시될 수 있으므로 afterCommit에서 올리고,
+          조회 쪽은 쿼리 전에 버전을 읽어 두므로 최악의 경우에도 다음 요청에서 한 번 더 조회할 뿐입니다.
+          재기동 후 같은 버전 값이 다른 데이터를 가리키지 않도록 ETag에 기동 시각(epoch)을 함께 넣습니다.
+          인스턴스별 값이므로 여러 인스턴스를 두면 인스턴스가 바뀔 때 304 대신 200이 내려갈 수 있습니다.
+*/
+@Component
+public class CatalogVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    public void markChanged() {
+        AfterCommit.run(version::incrementAndGet);
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public String eTag() {
+        return "\"catalog-" + epoch + "-" + current() + "\"";
+    }
+}
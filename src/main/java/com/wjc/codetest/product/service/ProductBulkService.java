@@ -0,0 +1,304 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.domain.ProductChangeType;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.model.request.BulkUpdateProductItem;
+import com.wjc.codetest.product.model.response.BulkItemResult;
+import com.wjc.codetest.product.model.response.BulkProductResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+1. 문제: 상품을 한 건씩 HTTP 요청으로 생성/수정/삭제하여 대량 동기화 시 행마다 왕복 비용이 발생하고,
+        수정/삭제는 getProductById로 한 번 더 조회합니다.
+2. 원인: 단건 API만 존재
+3. 개선안: 요청을 chunk-size 단위로 나누어 chunk마다 하나의 트랜잭션에서 처리합니다.
+          수정/삭제 대상은 findAllById로 한 번에 조회하고, INSERT/UPDATE는 hibernate.jdbc.batch_size 단위로 JDBC 배치 전송됩니다.
+          chunk 처리 중 DB 오류가 나면 해당 chunk만 항목별 트랜잭션으로 다시 처리하여 실패한 항목만 골라냅니다.
+*/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductBulkService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ProductRepository productRepository;
+    private final ProductCategoryIndex productCategoryIndex;
+    private final CatalogVersion catalogVersion;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductChangeFeed productChangeFeed;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${product.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${product.bulk.max-items:10000}")
+    private int maxItems;
+
+    public BulkProductResponse createAll(List<BulkCreateProductItem> items) {
+        checkSize(items);
+        return BulkProductResponse.of(createInChunks(items));
+    }
+
+    List<BulkItemResult> createInChunks(List<BulkCreateProductItem> items) {
+        return writeInChunks(items, this::createChunk);
+    }
+
+    public BulkProductResponse updateAll(List<BulkUpdateProductItem> items) {
+        checkSize(items);
+        List<BulkItemResult> results = writeInChunks(items, this::updateChunk);
+        evictSucceeded(results);
+        return BulkProductResponse.of(results);
+    }
+
+    public BulkProductResponse deleteAll(List<Long> productIds) {
+        checkSize(productIds);
+        List<BulkItemResult> results = writeInChunks(productIds, this::deleteChunk);
+        evictSucceeded(results);
+        return BulkProductResponse.of(results);
+    }
+
+    /*
+    1. 문제: write-behind 작업자는 여러 종류의 변경과 적용 위치(checkpoint) 기록을 한 트랜잭션으로 묶어야 하는데
+            createAll/updateAll/deleteAll은 chunk마다 트랜잭션을 새로 엽니다.
+    2. 원인: chunk 단위 트랜잭션
+    3. 개선안: 호출자의 트랜잭션 안에서 chunk-size 단위로 flush하며 적용하는 메소드를 따로 둡니다. 캐시는 커밋 이후에 비웁니다.
+    */
+    List<BulkItemResult> createInCurrentTransaction(List<BulkCreateProductItem> items) {
+        return applyInCurrentTransaction(items, this::createChunk);
+    }
+
+    List<BulkItemResult> updateInCurrentTransaction(List<BulkUpdateProductItem> items) {
+        List<BulkItemResult> results = applyInCurrentTransaction(items, this::updateChunk);
+        AfterCommit.run(() -> evictSucceeded(results));
+        return results;
+    }
+
+    List<BulkItemResult> deleteInCurrentTransaction(List<Long> productIds) {
+        List<BulkItemResult> results = applyInCurrentTransaction(productIds, this::deleteChunk);
+        AfterCommit.run(() -> evictSucceeded(results));
+        return results;
+    }
+
+    private <T> List<BulkItemResult> applyInCurrentTransaction(List<T> items, Function<List<Indexed<T>>, List<BulkItemResult>> writer) {
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        for (List<Indexed<T>> chunk : chunks(items)) {
+            results.addAll(writer.apply(chunk));
+        }
+        return results;
+    }
+
+    private <T> List<BulkItemResult> writeInChunks(List<T> items, Function<List<Indexed<T>>, List<BulkItemResult>> writer) {
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        for (List<Indexed<T>> chunk : chunks(items)) {
+            results.addAll(writeChunk(chunk, writer));
+        }
+        return results;
+    }
+
+    private <T> List<List<Indexed<T>>> chunks(List<T> items) {
+        List<List<Indexed<T>>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, items.size());
+            List<Indexed<T>> chunk = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                chunk.add(new Indexed<>(index, items.get(index)));
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private <T> List<BulkItemResult> writeChunk(List<Indexed<T>> chunk, Function<List<Indexed<T>>, List<BulkItemResult>> writer) {
+        try {
+            return transactionTemplate.execute(status -> writer.apply(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                log.warn("bulk item failed :: index={}, errorCause={}", chunk.get(0).index(), e.getMessage());
+                return List.of(BulkItemResult.failure(chunk.get(0).index(), null, "write failed"));
+            }
+            log.warn("bulk chunk failed, retrying item by item :: from={}, size={}, errorCause={}",
+                    chunk.get(0).index(), chunk.size(), e.getMessage());
+            List<BulkItemResult> results = new ArrayList<>(chunk.size());
+            for (Indexed<T> item : chunk) {
+                results.addAll(writeChunk(List.of(item), writer));
+            }
+            return results;
+        }
+    }
+
+    private List<BulkItemResult> createChunk(List<Indexed<BulkCreateProductItem>> chunk) {
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<Indexed<Product>> products = new ArrayList<>(chunk.size());
+        Map<String, Long> categoryDeltas = new HashMap<>();
+
+        for (Indexed<BulkCreateProductItem> indexed : chunk) {
+            BulkCreateProductItem item = indexed.item();
+            String error = validate(item.category(), item.name());
+            if (error != null) {
+                results.add(BulkItemResult.failure(indexed.index(), null, error));
+                continue;
+            }
+            products.add(new Indexed<>(indexed.index(), new Product(item.category(), item.name())));
+            addDelta(categoryDeltas, item.category(), 1L);
+        }
+
+        productRepository.saveAll(products.stream().map(Indexed::item).toList());
+        flushAndClear();
+        productCategoryIndex.apply(categoryDeltas);
+        catalogVersion.markChanged();
+        List<ProductResponse> created = products.stream().map(product -> ProductResponse.from(product.item())).toList();
+        productSearchIndex.indexAfterCommit(created);
+        productChangeFeed.record(ProductChangeType.CREATED, created);
+
+        products.forEach(product -> results.add(BulkItemResult.success(product.index(), product.item().getId())));
+        results.sort(Comparator.comparingInt(BulkItemResult::index));
+        return results;
+    }
+
+    private List<BulkItemResult> updateChunk(List<Indexed<BulkUpdateProductItem>> chunk) {
+        Set<Long> productIds = chunk.stream()
+                .map(indexed -> indexed.item().id())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<Product> updated = new ArrayList<>(products.size());
+        Map<String, Long> categoryDeltas = new HashMap<>();
+
+        for (Indexed<BulkUpdateProductItem> indexed : chunk) {
+            BulkUpdateProductItem item = indexed.item();
+            if (item.id() == null) {
+                results.add(BulkItemResult.failure(indexed.index(), null, "id is required"));
+                continue;
+            }
+            String error = validate(item.category(), item.name());
+            if (error != null) {
+                results.add(BulkItemResult.failure(indexed.index(), item.id(), error));
+                continue;
+            }
+            Product product = products.get(item.id());
+            if (product == null) {
+                results.add(BulkItemResult.failure(indexed.index(), item.id(), "product not found"));
+                continue;
+            }
+            addDelta(categoryDeltas, product.getCategory(), -1L);
+            addDelta(categoryDeltas, item.category(), 1L);
+            product.setCategory(item.category());
+            product.setName(item.name());
+            updated.add(product);
+            results.add(BulkItemResult.success(indexed.index(), item.id()));
+        }
+
+        flushAndClear();
+        productCategoryIndex.apply(categoryDeltas);
+        catalogVersion.markChanged();
+        List<ProductResponse> responses = updated.stream().map(ProductResponse::from).toList();
+        productSearchIndex.indexAfterCommit(responses);
+        productChangeFeed.record(ProductChangeType.UPDATED, responses);
+        return results;
+    }
+
+    private List<BulkItemResult> deleteChunk(List<Indexed<Long>> chunk) {
+        Set<Long> productIds = chunk.stream()
+                .map(Indexed::item)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<Product> deletions = new ArrayList<>(products.size());
+        Map<String, Long> categoryDeltas = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (Indexed<Long> indexed : chunk) {
+            Long productId = indexed.item();
+            if (productId == null) {
+                results.add(BulkItemResult.failure(indexed.index(), null, "id is required"));
+                continue;
+            }
+            if (!seen.add(productId)) {
+                results.add(BulkItemResult.failure(indexed.index(), productId, "duplicate id"));
+                continue;
+            }
+            Product product = products.get(productId);
+            if (product == null) {
+                results.add(BulkItemResult.failure(indexed.index(), productId, "product not found"));
+                continue;
+            }
+            deletions.add(product);
+            addDelta(categoryDeltas, product.getCategory(), -1L);
+            results.add(BulkItemResult.success(indexed.index(), productId));
+        }
+
+        productRepository.deleteAllInBatch(deletions);
+        entityManager.clear();
+        productCategoryIndex.apply(categoryDeltas);
+        catalogVersion.markChanged();
+        productSearchIndex.removeAfterCommit(deletions.stream().map(Product::getId).toList());
+        productChangeFeed.record(ProductChangeType.DELETED, deletions.stream().map(ProductResponse::from).toList());
+        return results;
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("items must not be empty");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("items must not exceed " + maxItems);
+        }
+    }
+
+    String validate(String category, String name) {
+        if (category == null || category.isBlank()) {
+            return "category is required";
+        }
+        if (name == null || name.isBlank()) {
+            return "name is required";
+        }
+        if (category.length() > MAX_TEXT_LENGTH || name.length() > MAX_TEXT_LENGTH) {
+            return "category and name must not exceed " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private void addDelta(Map<String, Long> categoryDeltas, String category, long delta) {
+        if (category != null) {
+            categoryDeltas.merge(category, delta, Long::sum);
+        }
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void evictSucceeded(List<BulkItemResult> results) {
+        Cache cache = cacheManager.getCache(ProductService.PRODUCT_CACHE);
+        results.stream()
+                .filter(BulkItemResult::success)
+                .forEach(result -> cache.evict(result.id()));
+    }
+
+    private record Indexed<T>(int index, T item) {
+    }
+}
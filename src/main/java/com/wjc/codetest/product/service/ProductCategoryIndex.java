@@ -0,0 +1,125 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.domain.ProductCategory;
+import com.wjc.codetest.product.repository.ProductCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+1. 문제: 카테고리별 상품 수 테이블이 product 테이블과 어긋나면 카테고리 목록이 잘못 내려갑니다.
+2. 원인: 두 테이블을 따로 갱신
+3. 개선안: 증감 메소드는 MANDATORY 전파로 상품 변경 트랜잭션 안에서만 호출되도록 강제하고,
+          product 테이블에서 다시 집계하는 rebuild()를 제공합니다. 인덱스가 비어 있으면 기동 시 한 번 집계합니다.
+          집계값은 /product/list의 전체 건수로도 쓰이므로, 트랜잭션 밖에서 product를 직접 고친 경우에 대비해
+          reconcile()이 주기적으로 어긋난 카테고리만 찾아 차이만큼 보정합니다.
+*/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCategoryIndex {
+
+    private final ProductCategoryRepository productCategoryRepository;
+    private final CatalogVersion catalogVersion;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(String category) {
+        add(category, 1L);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrement(String category) {
+        add(category, -1L);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(String from, String to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        decrement(from);
+        increment(to);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Map<String, Long> deltas) {
+        deltas.forEach(this::add);
+    }
+
+    @Transactional
+    public void rebuild() {
+        productCategoryRepository.deleteAllInBatch();
+        int categoryCount = productCategoryRepository.insertCountsFromProducts();
+        catalogVersion.markChanged();
+        log.info("product category index rebuilt :: categories={}", categoryCount);
+    }
+
+    /*
+    1. 문제: rebuild()는 테이블 전체를 지우고 다시 넣으므로 운영 중 주기적으로 돌리기엔 잠금 범위가 크고,
+            그 사이 증감이 반영된 행까지 덮어씁니다.
+    2. 원인: 전체 재집계
+    3. 개선안: 실제 상품 수와 집계값의 차이가 0이 아닌 카테고리만 조회하여 기존 증감 경로(add)로 차이만 더합니다.
+              어긋난 카테고리가 없으면 아무 행도 쓰지 않습니다.
+    */
+    @Transactional
+    @Scheduled(fixedDelayString = "${product.category.reconcile-interval-ms:3600000}",
+            initialDelayString = "${product.category.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        List<ProductCategoryRepository.CategoryCountDrift> drifts = productCategoryRepository.findCountDrifts();
+        if (drifts.isEmpty()) {
+            return 0;
+        }
+        for (ProductCategoryRepository.CategoryCountDrift drift : drifts) {
+            log.warn("product category count drift :: category={}, delta={}", drift.getCategory(), drift.getDelta());
+            add(drift.getCategory(), drift.getDelta());
+        }
+        catalogVersion.markChanged();
+        return drifts.size();
+    }
+
+    @Transactional(readOnly = true)
+    public long getProductCount(String category) {
+        return productCategoryRepository.findProductCount(category).orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getCategoryNames() {
+        return productCategoryRepository.findAllCategoryNames();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductCategory> getCategories(Pageable pageable) {
+        return productCategoryRepository.findAll(pageable);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (productCategoryRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private void add(String category, long delta) {
+        if (category == null || delta == 0) {
+            return;
+        }
+        if (delta > 0) {
+            productCategoryRepository.upsertProductCount(category, delta);
+            return;
+        }
+        productCategoryRepository.addProductCount(category, delta);
+        productCategoryRepository.deleteIfEmpty(category);
+    }
+}
@@ -0,0 +1,275 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.domain.ProductChange;
+import com.wjc.codetest.product.model.domain.ProductChangeType;
+import com.wjc.codetest.product.model.response.ProductChangeFeedResponse;
+import com.wjc.codetest.product.model.response.ProductChangeResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.repository.ProductChangeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+1. 문제: 하위 소비자가 변경분만 받아 갈 방법이 없어 목록 API를 주기적으로 전부 다시 읽어 DB에 부하를 줍니다.
+2. 원인: 변경 피드 부재
+3. 개선안: 쓰기 트랜잭션 안에서 product_change(outbox)에 변경을 기록하고, 소비자는 마지막으로 받은 seq 이후를 묶음으로 받아 갑니다.
+          변경이 없으면 wait 동안 응답을 보류했다가(long-poll, DeferredResult) 커밋이 일어나면 바로 응답하여 요청 스레드를 점유하지 않습니다.
+
+          seq는 할당 순서와 커밋 순서가 다를 수 있어 커밋된 큰 seq만 보고 커서를 넘기면 아직 커밋되지 않은 작은 seq를 영영 놓칩니다.
+          그래서 할당과 동시에 트랜잭션의 첫 seq를 inFlight에 등록하고 트랜잭션이 끝나면 지우며,
+          피드는 "진행 중인 트랜잭션의 가장 작은 seq 미만"(없으면 마지막 할당 seq)까지만 내보냅니다. 그 이하의 seq는 커밋 또는 롤백이 확정된 값입니다.
+          이 판단은 JVM 메모리에 있으므로 쓰기 인스턴스가 하나일 때를 전제로 합니다. (카테고리/검색 인덱스와 동일)
+          seq는 시퀀스에서 SEQ_BLOCK_SIZE 단위로 받아 메모리에서 나눠 주므로 변경마다 DB 왕복이 생기지 않고 outbox INSERT는 JDBC 배치로 전송됩니다.
+          replica로 읽으면 복제 지연만큼 행이 빠진 채 커서가 넘어갈 수 있으므로 피드 조회는 primary(읽기/쓰기 트랜잭션)에서 합니다.
+          보관 기간(retention)이 지난 행은 주기적으로 지우며, 지워진 구간 이전의 커서로 요청하면 resyncRequired로 전체 재조회를 안내합니다.
+*/
+@Slf4j
+@Component
+public class ProductChangeFeed {
+
+    static final int SEQ_BLOCK_SIZE = 50;
+    private static final int MAX_LIMIT = 1000;
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final ProductChangeRepository productChangeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    private final Object allocationLock = new Object();
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long nextSeq;
+    private long blockEnd;
+    private long lastIssued;
+    private volatile long purgedThrough;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductChangeFeed(ProductChangeRepository productChangeRepository,
+                             EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${product.change-feed.retention:7d}") Duration retention) {
+        this.productChangeRepository = productChangeRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+    }
+
+    /** 시퀀스에서 새 블록을 받아 그 이전 seq는 모두 확정된 것으로 보고, 남은 가장 작은 seq 이전은 삭제된 구간으로 봅니다. */
+    @PostConstruct
+    void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            long blockStart = productChangeRepository.nextSeqBlock();
+            long minSeq = productChangeRepository.findMinSeq();
+            synchronized (allocationLock) {
+                nextSeq = blockStart;
+                blockEnd = blockStart + SEQ_BLOCK_SIZE - 1;
+                lastIssued = blockStart - 1;
+            }
+            purgedThrough = minSeq == 0 ? blockStart - 1 : minSeq - 1;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    /** 상품 변경과 같은 트랜잭션에서 호출해야 합니다. 롤백되면 기록도 함께 사라집니다. */
+    public void record(ProductChangeType type, Collection<ProductResponse> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("product changes must be recorded in the writing transaction");
+        }
+
+        OffsetDateTime changedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        List<ProductChange> changes = new ArrayList<>(products.size());
+        long firstSeq;
+        synchronized (allocationLock) {
+            Iterator<ProductResponse> iterator = products.iterator();
+            firstSeq = allocate();
+            inFlight.add(firstSeq);
+            try {
+                changes.add(new ProductChange(firstSeq, type, iterator.next(), changedAt));
+                while (iterator.hasNext()) {
+                    changes.add(new ProductChange(allocate(), type, iterator.next(), changedAt));
+                }
+            } catch (RuntimeException e) {
+                // 등록한 seq가 남아 있으면 피드가 그 앞에서 영원히 멈춥니다.
+                inFlight.remove(firstSeq);
+                throw e;
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (allocationLock) {
+                    inFlight.remove(firstSeq);
+                }
+                if (status == STATUS_COMMITTED) {
+                    signal();
+                }
+            }
+        });
+        changes.forEach(entityManager::persist);
+    }
+
+    /** 피드로 내보낼 수 있는 가장 큰 seq. 이 값 이하의 seq는 커밋 또는 롤백이 확정되었습니다. */
+    public long currentSeq() {
+        synchronized (allocationLock) {
+            return inFlight.isEmpty() ? lastIssued : inFlight.first() - 1;
+        }
+    }
+
+    public ProductChangeFeedResponse read(long after, int limit) {
+        validate(after, limit);
+        if (after < purgedThrough) {
+            return new ProductChangeFeedResponse(List.of(), currentSeq(), false, true);
+        }
+        long upTo = currentSeq();
+        if (upTo <= after) {
+            return ProductChangeFeedResponse.empty(after);
+        }
+
+        List<ProductChange> rows = transactionTemplate.execute(status ->
+                productChangeRepository.findRange(after, upTo, PageRequest.of(0, limit + 1)));
+        boolean hasMore = rows.size() > limit;
+        List<ProductChangeResponse> changes = rows.stream()
+                .limit(limit)
+                .map(ProductChangeResponse::from)
+                .toList();
+        // 롤백으로 비어 있는 seq만 남았어도 upTo까지는 확정되었으므로 커서를 넘깁니다.
+        long nextSeq = hasMore ? changes.get(changes.size() - 1).seq() : upTo;
+        return new ProductChangeFeedResponse(changes, nextSeq, hasMore, false);
+    }
+
+    /** 변경이 있으면 바로, 없으면 wait 안에 첫 커밋이 일어날 때 응답합니다. 끝내 없으면 빈 응답을 돌려줍니다. */
+    public DeferredResult<ProductChangeFeedResponse> poll(long after, int limit, Duration wait) {
+        validate(after, limit);
+        if (wait.isNegative() || wait.compareTo(MAX_WAIT) > 0) {
+            throw new IllegalArgumentException("wait must be between 0 and " + MAX_WAIT.toSeconds() + " seconds");
+        }
+        DeferredResult<ProductChangeFeedResponse> result =
+                new DeferredResult<>(Math.max(wait.toMillis(), 1), ProductChangeFeedResponse.empty(after));
+        if (wait.isZero()) {
+            result.setResult(read(after, limit));
+            return result;
+        }
+
+        // 조회 후 등록하면 그 사이의 커밋 신호를 놓치므로 먼저 등록하고 조회합니다.
+        Waiter waiter = new Waiter(after, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        ProductChangeFeedResponse current = read(after, limit);
+        if (isDeliverable(current)) {
+            result.setResult(current);
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${product.change-feed.cleanup-interval-ms:600000}",
+            initialDelayString = "${product.change-feed.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> {
+            long upTo = productChangeRepository.findMaxSeqChangedBefore(cutoff);
+            if (upTo <= purgedThrough) {
+                return 0;
+            }
+            // 지우기 전에 먼저 올려 두어 삭제 중인 구간을 읽은 소비자도 재조회 안내를 받게 합니다.
+            purgedThrough = upTo;
+            return productChangeRepository.deleteUpTo(upTo);
+        });
+        if (deleted != null && deleted > 0) {
+            log.info("product change feed purged :: deleted={}, purgedThrough={}", deleted, purgedThrough);
+        }
+    }
+
+    private long allocate() {
+        if (nextSeq > blockEnd) {
+            long blockStart = productChangeRepository.nextSeqBlock();
+            nextSeq = blockStart;
+            blockEnd = blockStart + SEQ_BLOCK_SIZE - 1;
+        }
+        lastIssued = nextSeq;
+        return nextSeq++;
+    }
+
+    private void signal() {
+        if (!waiters.isEmpty() && dispatchScheduled.compareAndSet(false, true)) {
+            notifier.execute(this::dispatch);
+        }
+    }
+
+    /** 같은 커서를 기다리는 소비자가 많아도 커서마다 한 번만 조회합니다. */
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        Map<Waiter.Cursor, ProductChangeFeedResponse> responses = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isSetOrExpired()) {
+                continue;
+            }
+            try {
+                ProductChangeFeedResponse response = responses.computeIfAbsent(waiter.cursor(),
+                        cursor -> read(cursor.after(), cursor.limit()));
+                if (isDeliverable(response)) {
+                    waiter.result().setResult(response);
+                }
+            } catch (RuntimeException e) {
+                log.warn("product change feed dispatch failed :: after={}, errorCause={}", waiter.cursor().after(), e.getMessage());
+                waiter.result().setErrorResult(e);
+            }
+        }
+    }
+
+    private boolean isDeliverable(ProductChangeFeedResponse response) {
+        return !response.changes().isEmpty() || response.resyncRequired();
+    }
+
+    private void validate(long after, int limit) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must be >= 0");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    private record Waiter(Cursor cursor, DeferredResult<ProductChangeFeedResponse> result) {
+
+        Waiter(long after, int limit, DeferredResult<ProductChangeFeedResponse> result) {
+            this(new Cursor(after, limit), result);
+        }
+
+        private record Cursor(long after, int limit) {
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.wjc.codetest.product.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+1. 문제: 클라이언트에게 마지막으로 본 id를 그대로 노출하면 클라이언트가 내부 정렬 키에 의존하게 됩니다.
+2. 원인: keyset pagination의 continuation token
+3. 개선안: (lastId, category)를 Base64 URL-safe 문자열로 인코딩한 불투명한 토큰으로 주고받으며
+          다른 카테고리의 cursor로 조회하는 경우는 잘못된 요청으로 처리합니다.
+*/
+record ProductCursor(String category, long lastId) {
+
+    private static final char DELIMITER = ':';
+
+    String encode() {
+        String raw = lastId + String.valueOf(DELIMITER) + category;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int delimiterIndex = raw.indexOf(DELIMITER);
+            if (delimiterIndex < 0) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+            long lastId = Long.parseLong(raw.substring(0, delimiterIndex));
+            return new ProductCursor(raw.substring(delimiterIndex + 1), lastId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.wjc.codetest.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+1. 문제: 전체 상품을 내려받으려면 /product/list를 페이지마다 호출해야 하고 매 페이지가 List로 메모리에 올라갑니다.
+2. 원인: 전체 조회용 API 부재
+3. 개선안: 상품을 Stream으로 한 건씩 읽어 NDJSON 한 줄로 바로 씁니다. 엔티티가 아닌 DTO로 조회하므로 영속성 컨텍스트에
+          쌓이는 것이 없어 내보내는 행 수와 관계없이 힙 사용량이 일정하게 유지됩니다.
+*/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+    private static final byte NEW_LINE = '\n';
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportTo(String category, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class);
+        long count = 0;
+
+        try (Stream<ProductResponse> products = category == null
+                ? productRepository.streamAll()
+                : productRepository.streamAllByCategory(category)) {
+            Iterator<ProductResponse> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write(NEW_LINE);
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    outputStream.flush();
+                }
+            }
+        }
+        outputStream.flush();
+
+        log.info("product export finished :: category={}, count={}", category, count);
+        return count;
+    }
+}
@@ -0,0 +1,182 @@
+package com.wjc.codetest.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.model.response.BulkItemResult;
+import com.wjc.codetest.product.model.response.ImportRejectedRow;
+import com.wjc.codetest.product.model.response.ProductImportResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+1. 문제: 공급사 카탈로그(수백만 건)를 넣으려면 /create/product를 행마다 호출해야 합니다.
+2. 원인: 대량 적재 경로 부재
+3. 개선안: 업로드 본문을 메모리에 모두 올리지 않고 한 줄씩 읽어 파싱하며, batch-size 만큼 모이면 ProductBulkService로 한 트랜잭션에 저장합니다.
+          파싱/검증에 실패한 행은 줄 번호와 사유를 모아 결과로 돌려주고 나머지 행의 적재는 계속합니다.
+*/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final int MAX_REJECTED_ROWS = 1000;
+    private static final String CSV_HEADER = "category,name";
+
+    private final ProductBulkService productBulkService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.import.batch-size:2000}")
+    private int batchSize;
+
+    public ProductImportResponse importCsv(InputStream inputStream) throws IOException {
+        return importRows(inputStream, this::parseCsvLine);
+    }
+
+    public ProductImportResponse importNdjson(InputStream inputStream) throws IOException {
+        return importRows(inputStream, this::parseJsonLine);
+    }
+
+    private ProductImportResponse importRows(InputStream inputStream, RowParser parser) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ImportJob job = new ImportJob();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && CSV_HEADER.equalsIgnoreCase(line.strip()))) {
+                    continue;
+                }
+                job.totalRows++;
+                try {
+                    job.add(lineNumber, parser.parse(line));
+                } catch (IllegalArgumentException e) {
+                    job.reject(lineNumber, e.getMessage());
+                }
+                if (job.batch.size() >= batchSize) {
+                    job.flush();
+                }
+            }
+        }
+        job.flush();
+
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        log.info("product import finished :: totalRows={}, imported={}, rejected={}, elapsedMillis={}",
+                job.totalRows, job.imported, job.rejected, elapsedMillis);
+        return new ProductImportResponse(job.totalRows, job.imported, job.rejected,
+                job.rejectedRows, job.rejected > job.rejectedRows.size(), elapsedMillis);
+    }
+
+    private BulkCreateProductItem parseJsonLine(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("malformed json");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("expected json object");
+        }
+        return new BulkCreateProductItem(textOrNull(node, "category"), textOrNull(node, "name"));
+    }
+
+    private String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+
+    /*
+    1. 문제: 단순히 ','로 나누면 상품명에 쉼표가 들어간 행이 잘못 나뉩니다.
+    2. 원인: String.split(",")
+    3. 개선안: RFC 4180의 큰따옴표 인용과 "" 이스케이프를 처리합니다. 한 행이 여러 줄에 걸친 필드는 지원하지 않습니다.
+    */
+    private BulkCreateProductItem parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+
+        if (fields.size() != 2) {
+            throw new IllegalArgumentException("expected 2 columns but was " + fields.size());
+        }
+        return new BulkCreateProductItem(fields.get(0).strip(), fields.get(1).strip());
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        BulkCreateProductItem parse(String line);
+    }
+
+    private class ImportJob {
+        private final List<BulkCreateProductItem> batch = new ArrayList<>(batchSize);
+        private final List<Long> batchLineNumbers = new ArrayList<>(batchSize);
+        private final List<ImportRejectedRow> rejectedRows = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long rejected;
+
+        private void add(long lineNumber, BulkCreateProductItem item) {
+            batch.add(item);
+            batchLineNumbers.add(lineNumber);
+        }
+
+        private void reject(long lineNumber, String reason) {
+            rejected++;
+            if (rejectedRows.size() < MAX_REJECTED_ROWS) {
+                rejectedRows.add(new ImportRejectedRow(lineNumber, reason));
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (BulkItemResult result : productBulkService.createInChunks(batch)) {
+                if (result.success()) {
+                    imported++;
+                } else {
+                    reject(batchLineNumbers.get(result.index()), result.error());
+                }
+            }
+            batch.clear();
+            batchLineNumbers.clear();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import com.wjc.codetest.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/*
+1. 문제: 상품명으로 검색할 방법이 없고, name LIKE '%x%'는 인덱스를 타지 못해 전체 테이블을 읽습니다.
+2. 원인: id / category 조회만 존재
+3. 개선안: 상품명을 토큰으로 나눈 역색인(토큰 → 상품 id)을 메모리에 두고 검색합니다.
+          토큰 사전은 정렬된 ConcurrentSkipListMap이므로 접두어 검색은 subMap 범위 조회로 처리합니다.
+          질의 토큰 중 후보가 가장 적은 토큰의 posting만 순회하고 나머지 토큰/카테고리는 후보 문서에서 확인한 뒤
+          크기 limit의 heap으로 상위 k개만 남깁니다.
+          "a" 같은 짧은 접두어는 범위가 카탈로그 전체에 가까우므로, 후보 수 추정과 순회 모두 MAX_CANDIDATES에서 멈추고
+          그 경우 matched는 하한값으로, truncated=true로 내려줍니다. 접두어와 같은 토큰의 posting이 범위 맨 앞에 있으므로
+          완전히 일치하는 상품이 먼저 후보가 됩니다.
+          기동 시 product 테이블을 스트리밍하여 다시 만들고, 이후에는 쓰기 트랜잭션이 커밋된 뒤에 증분 반영합니다.
+          rebuild는 새 색인을 따로 만든 뒤 한 번에 바꿔 끼우므로 그동안의 검색은 기존 색인을 그대로 봅니다.
+          rebuild 중에 커밋된 변경은 기존 색인에 반영하면서 따로 모아 두었다가 교체 직전에 새 색인에도 다시 적용하고,
+          오래된 행으로 덮이지 않도록 version이 낮은 문서는 반영하지 않습니다.
+*/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int EXACT_TOKEN_SCORE = 2;
+    private static final int PREFIX_TOKEN_SCORE = 1;
+    static final int MAX_CANDIDATES = 10_000;
+
+    private final ProductRepository productRepository;
+
+    private final Object rebuildLock = new Object();
+    private volatile Index current = new Index();
+    /** rebuild 중에만 null이 아니며, 그동안 커밋된 변경을 새 색인에 다시 적용하기 위해 모읍니다. */
+    private List<Consumer<Index>> changesDuringRebuild;
+
+    public void indexAfterCommit(Collection<ProductResponse> products) {
+        List<ProductResponse> snapshot = List.copyOf(products);
+        AfterCommit.run(() -> snapshot.forEach(this::index));
+    }
+
+    public void removeAfterCommit(Collection<Long> productIds) {
+        List<Long> snapshot = List.copyOf(productIds);
+        AfterCommit.run(() -> snapshot.forEach(this::remove));
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            Index rebuilt = new Index();
+            try (Stream<ProductResponse> products = productRepository.streamAll()) {
+                products.forEach(rebuilt::index);
+                synchronized (this) {
+                    changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                    current = rebuilt;
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+            log.info("product search index rebuilt :: documents={}, tokens={}", rebuilt.documents.size(), rebuilt.postings.size());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    public ProductSearchResponse search(String query, String category, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return new ProductSearchResponse(List.of(), 0, false);
+        }
+        Index index = current;
+
+        String driver = queryTokens.get(0);
+        long driverSize = Long.MAX_VALUE;
+        for (String token : queryTokens) {
+            long size = index.estimateCandidates(token, Math.min(driverSize, MAX_CANDIDATES));
+            if (size < driverSize) {
+                driver = token;
+                driverSize = size;
+            }
+        }
+
+        PriorityQueue<Hit> topK = new PriorityQueue<>(limit + 1, Hit.RANKING.reversed());
+        int matched = 0;
+        boolean truncated = false;
+        Set<Long> visited = new HashSet<>();
+        scan:
+        for (Set<Long> ids : index.prefixRange(driver).values()) {
+            for (Long id : ids) {
+                if (!visited.add(id)) {
+                    continue;
+                }
+                if (visited.size() > MAX_CANDIDATES) {
+                    truncated = true;
+                    break scan;
+                }
+                Document document = index.documents.get(id);
+                if (document == null || (category != null && !category.equals(document.product().category()))) {
+                    continue;
+                }
+                int score = score(document, queryTokens);
+                if (score == 0) {
+                    continue;
+                }
+                matched++;
+                topK.offer(new Hit(document.product(), score));
+                if (topK.size() > limit) {
+                    topK.poll();
+                }
+            }
+        }
+
+        List<ProductResponse> products = new ArrayList<>(topK.size());
+        topK.stream().sorted(Hit.RANKING).forEach(hit -> products.add(hit.product()));
+        return new ProductSearchResponse(products, matched, truncated);
+    }
+
+    private synchronized void index(ProductResponse product) {
+        apply(index -> index.index(product));
+    }
+
+    private synchronized void remove(Long productId) {
+        apply(index -> index.remove(productId));
+    }
+
+    private void apply(Consumer<Index> change) {
+        change.accept(current);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    /** 모든 질의 토큰이 상품명 토큰의 접두어여야 하며, 완전히 일치하는 토큰에 더 높은 점수를 줍니다. */
+    private int score(Document document, List<String> queryTokens) {
+        int score = 0;
+        for (String queryToken : queryTokens) {
+            int tokenScore = 0;
+            for (String token : document.tokens()) {
+                if (token.equals(queryToken)) {
+                    tokenScore = EXACT_TOKEN_SCORE;
+                    break;
+                }
+                if (token.startsWith(queryToken)) {
+                    tokenScore = PREFIX_TOKEN_SCORE;
+                }
+            }
+            if (tokenScore == 0) {
+                return 0;
+            }
+            score += tokenScore;
+        }
+        return score;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return TOKEN_DELIMITER.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /** 문서와 토큰 사전 한 벌. 검색은 잠금 없이 읽고, current로 공개된 뒤의 변경은 ProductSearchIndex의 lock 안에서만 일어납니다. */
+    private static final class Index {
+
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+        private void index(ProductResponse product) {
+            Document previous = documents.get(product.id());
+            if (previous != null && isNewer(previous.product(), product)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(previous);
+            }
+            Document document = new Document(product, tokenize(product.name()));
+            documents.put(product.id(), document);
+            for (String token : document.tokens()) {
+                postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(product.id());
+            }
+        }
+
+        private void remove(Long productId) {
+            Document previous = documents.remove(productId);
+            if (previous != null) {
+                unlink(previous);
+            }
+        }
+
+        private void unlink(Document document) {
+            for (String token : document.tokens()) {
+                postings.computeIfPresent(token, (key, ids) -> {
+                    ids.remove(document.product().id());
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        private boolean isNewer(ProductResponse current, ProductResponse incoming) {
+            return current.version() != null && incoming.version() != null && current.version() > incoming.version();
+        }
+
+        /** 접두어 범위의 posting 크기 합. cap에 닿으면 더 세지 않고 cap을 반환합니다. */
+        private long estimateCandidates(String prefix, long cap) {
+            long size = 0;
+            for (Set<Long> ids : prefixRange(prefix).values()) {
+                size += ids.size();
+                if (size >= cap) {
+                    return cap;
+                }
+            }
+            return size;
+        }
+
+        private NavigableMap<String, Set<Long>> prefixRange(String prefix) {
+            return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+    }
+
+    private record Document(ProductResponse product, List<String> tokens) {
+    }
+
+    /** 점수 내림차순, 같으면 짧은 이름, 그다음 id 오름차순 */
+    private record Hit(ProductResponse product, int score) {
+        private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingInt(hit -> hit.product().name().length())
+                .thenComparing(hit -> hit.product().id());
+    }
+}
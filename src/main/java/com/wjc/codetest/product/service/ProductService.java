@@ -1,16 +1,37 @@
 package com.wjc.codetest.product.service;
 
+import com.wjc.codetest.product.exception.ProductPreconditionFailedException;
+import com.wjc.codetest.product.model.request.CategorySortType;
 import com.wjc.codetest.product.model.request.CreateProductRequest;
 import com.wjc.codetest.product.model.request.GetProductListRequest;
+import com.wjc.codetest.product.model.request.GetProductMultiListRequest;
+import com.wjc.codetest.product.model.request.ProductSortType;
+import com.wjc.codetest.product.model.request.GetProductSliceRequest;
 import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.domain.ProductChangeType;
 import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.CategoryCountResponse;
+import com.wjc.codetest.product.model.response.CategoryListResponse;
+import com.wjc.codetest.product.model.response.ProductCacheStatsResponse;
+import com.wjc.codetest.product.model.response.ProductMultiListResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import com.wjc.codetest.product.model.response.ProductSliceResponse;
 import com.wjc.codetest.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -18,6 +39,8 @@ import java.util.*;
 1. 문제: @Transactional이 없어 영속성 컨텍스트의 장점을 사용하지 못합니다.
 2. 원인: 읽기/쓰기 메소드에 @Transactional이 존재하지 않음
 3. 개선안: 조회 메소드에는 @Transactional(readOnly = true), 나머지 생성/수정/삭제 메소드에 대해선 @Transactional을 붙입니다.
+          readOnly 트랜잭션은 Hibernate 세션의 flush mode를 MANUAL로, 기본 로딩을 read-only로 설정하여 스냅샷을 만들지 않으며
+          product.datasource.replica.enabled=true이면 replica로 라우팅됩니다.
 */
 /* -------------------------클래스 전체적인 문제-------------------------
 1. 문제: 대부분의 메소드가 엔티티를 반환타입으로 사용하여 반환 시 클라이언트에게 불필요한 데이터를 노출할 수 있고
@@ -42,15 +65,51 @@ import java.util.*;
 @RequiredArgsConstructor
 public class ProductService {
 
+    public static final String PRODUCT_CACHE = "product";
+
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final int MAX_CATEGORY_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_MULTI_LIST_CATEGORIES = 50;
+
     private final ProductRepository productRepository;
+    private final ProductCategoryIndex productCategoryIndex;
+    private final CacheManager cacheManager;
+    private final CatalogVersion catalogVersion;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductChangeFeed productChangeFeed;
+    private final ReadCoalescer readCoalescer;
 
-    public Product create(CreateProductRequest dto) {
+    @Transactional
+    @CachePut(cacheNames = PRODUCT_CACHE, key = "#result.id")
+    public ProductResponse create(CreateProductRequest dto) {
         Product product = new Product(dto.getCategory(), dto.getName());
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        productCategoryIndex.increment(savedProduct.getCategory());
+        catalogVersion.markChanged();
+        ProductResponse response = ProductResponse.from(savedProduct);
+        productSearchIndex.indexAfterCommit(List.of(response));
+        productChangeFeed.record(ProductChangeType.CREATED, List.of(response));
+        return response;
     }
 
-    public Product getProductById(Long productId) {
-        Optional<Product> productOptional = productRepository.findById(productId);
+    /*
+    1. 문제: 소수의 인기 상품 조회가 대부분인데도 매 요청마다 findById로 DB를 조회합니다.
+    2. 원인: productRepository.findById(productId)
+    3. 개선안: 크기/TTL 제한이 있는 Caffeine 캐시를 앞에 두고 생성/수정은 @CachePut, 삭제는 @CacheEvict로 갱신합니다.
+              sync = true로 같은 id에 대한 동시 cache miss는 한 번만 DB를 조회합니다.
+              update/deleteById는 캐시가 아닌 DB의 최신 엔티티를 기준으로 수정합니다.
+    */
+    /*
+    1. 문제: 캐시를 끄거나(spring.cache.type=none) 여러 id의 캐시 항목이 한꺼번에 만료되면 같은 id 조회가 동시에 DB로 몰립니다.
+    2. 원인: 요청마다 findResponseById 실행
+    3. 개선안: ReadCoalescer로 같은 id에 대한 동시 조회를 한 번의 쿼리로 합칩니다.
+              기다리는 요청이 커넥션을 잡지 않도록 메소드에는 트랜잭션을 두지 않고 실제 조회만 readOnly 트랜잭션에서 실행합니다.
+    */
+    @Cacheable(cacheNames = PRODUCT_CACHE, key = "#productId", sync = true)
+    public ProductResponse getProductById(Long productId) {
+        Optional<ProductResponse> productOptional = readCoalescer.read("getProductById", productId,
+                () -> productRepository.findResponseById(productId));
         if (!productOptional.isPresent()) {
             throw new RuntimeException("product not found");
         }
@@ -62,22 +121,113 @@ public class ProductService {
     2. 원인: product.setCategory(dto.getCategory()), product.setName(dto.getName());
     3. 개선안: 업데이트에 필요한 변수만 수정할 수 있는 별도의 메소드를 만들어 사용합니다.
     */
-    public Product update(UpdateProductRequest dto) {
-        Product product = getProductById(dto.getId());
+    /*
+    1. 문제: 조회와 저장이 각각 다른 트랜잭션에서 실행되어 save() 시 merge를 위한 SELECT가 한 번 더 실행됩니다.
+    2. 원인: @Transactional 없이 findById → save
+    3. 개선안: 한 트랜잭션 안에서 조회한 영속 엔티티를 변경하고 커밋 시 dirty checking으로 UPDATE 한 번만 실행합니다.
+    */
+    /*
+    1. 문제: 클라이언트가 조회한 이후 다른 요청이 수정한 상품을 확인 없이 덮어씁니다.
+    2. 원인: 버전 비교 없는 read-modify-write
+    3. 개선안: expectedVersion(If-Match)이 있으면 현재 버전과 비교해 다르면 412로 거절합니다.
+              비교 이후 커밋 전에 끼어든 수정은 @Version 조건의 UPDATE가 잡아냅니다.
+              응답의 version이 증가된 값이 되도록 flush 후에 응답을 만듭니다.
+    */
+    @Transactional
+    @CachePut(cacheNames = PRODUCT_CACHE, key = "#result.id")
+    public ProductResponse update(UpdateProductRequest dto, Long expectedVersion) {
+        Product product = findProduct(dto.getId());
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new ProductPreconditionFailedException(product.getVersion());
+        }
+        productCategoryIndex.move(product.getCategory(), dto.getCategory());
         product.setCategory(dto.getCategory());
         product.setName(dto.getName());
-        Product updatedProduct = productRepository.save(product);
-        return updatedProduct;
+        productRepository.flush();
+        catalogVersion.markChanged();
+        ProductResponse response = ProductResponse.from(product);
+        productSearchIndex.indexAfterCommit(List.of(response));
+        productChangeFeed.record(ProductChangeType.UPDATED, List.of(response));
+        return response;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#productId")
     public void deleteById(Long productId) {
-        Product product = getProductById(productId);
+        Product product = findProduct(productId);
         productRepository.delete(product);
+        productCategoryIndex.decrement(product.getCategory());
+        catalogVersion.markChanged();
+        productSearchIndex.removeAfterCommit(List.of(productId));
+        productChangeFeed.record(ProductChangeType.DELETED, List.of(ProductResponse.from(product)));
     }
 
-    public Page<Product> getListByCategory(GetProductListRequest dto) {
+    /** 같은 카테고리/페이지/크기의 동시 조회는 목록과 count 쿼리를 한 번만 실행합니다. */
+    public Page<ProductResponse> getListByCategory(GetProductListRequest dto) {
         PageRequest pageRequest = PageRequest.of(dto.getPage(), dto.getSize(), Sort.by(Sort.Direction.ASC, "category"));
-        return productRepository.findAllByCategory(dto.getCategory(), pageRequest);
+        return readCoalescer.read("getListByCategory", new ListKey(dto.getCategory(), dto.getPage(), dto.getSize()),
+                () -> findPageByCategory(dto.getCategory(), pageRequest));
+    }
+
+    /*
+    1. 문제: 페이지를 읽을 때마다 COUNT(*)가 카테고리의 모든 행을 다시 세므로 큰 카테고리일수록 목록 조회가 느려집니다.
+    2. 원인: Page 조회의 countQuery
+    3. 개선안: 목록은 size + 1건만 읽는 Slice로 조회하고, 전체 건수는 상품 변경 트랜잭션에서 함께 갱신되는
+              product_category.product_count를 PK로 읽어 O(1)로 구합니다.
+              두 조회 사이에 커밋된 변경으로 집계값이 현재 페이지와 모순되면(다음 페이지가 있는데 전체 건수가 작음)
+              최소한 다음 페이지가 보이도록 보정하고, 마지막 페이지에서는 PageImpl이 실제 건수로 맞춥니다.
+    */
+    private Page<ProductResponse> findPageByCategory(String category, PageRequest pageRequest) {
+        Slice<ProductResponse> slice = productRepository.findResponseSliceByCategory(category, pageRequest);
+        long total = productCategoryIndex.getProductCount(category);
+        if (slice.hasNext()) {
+            total = Math.max(total, pageRequest.getOffset() + pageRequest.getPageSize() + 1);
+        }
+        return new PageImpl<>(slice.getContent(), pageRequest, total);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSliceResponse getSliceByCategory(GetProductSliceRequest dto) {
+        if (dto.size() < 1 || dto.size() > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+
+        long lastId = 0L;
+        if (dto.cursor() != null && !dto.cursor().isBlank()) {
+            ProductCursor cursor = ProductCursor.decode(dto.cursor());
+            if (!cursor.category().equals(dto.category())) {
+                throw new IllegalArgumentException("cursor does not belong to category");
+            }
+            lastId = cursor.lastId();
+        }
+
+        Slice<ProductResponse> slice = productRepository.findSliceByCategoryAfter(dto.category(), lastId, PageRequest.of(0, dto.size()));
+        List<ProductResponse> products = slice.getContent();
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            ProductResponse last = products.get(products.size() - 1);
+            nextCursor = new ProductCursor(dto.category(), last.id()).encode();
+        }
+        return new ProductSliceResponse(products, nextCursor, slice.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public ProductMultiListResponse getListByCategories(GetProductMultiListRequest dto) {
+        if (dto.categories() == null || dto.categories().isEmpty() || dto.categories().size() > MAX_MULTI_LIST_CATEGORIES) {
+            throw new IllegalArgumentException("categories must contain between 1 and " + MAX_MULTI_LIST_CATEGORIES + " items");
+        }
+        if (dto.page() < 0 || dto.size() < 1 || dto.size() > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_SLICE_SIZE);
+        }
+        if (dto.categories().stream().anyMatch(category -> category == null || category.isBlank())) {
+            throw new IllegalArgumentException("categories must not contain null or blank items");
+        }
+        List<String> categories = List.copyOf(new LinkedHashSet<>(dto.categories()));
+        ProductSortType sort = dto.sort() == null ? ProductSortType.ID : dto.sort();
+
+        return new ProductMultiListResponse(dto.page(), dto.size(),
+                productRepository.findTopByCategories(categories, dto.namePrefix(), sort, (long) dto.page() * dto.size(), dto.size()));
     }
 
     /*
@@ -85,7 +235,45 @@ public class ProductService {
     2. 원인: List<String> getUniqueCategories()
     3. 개선안: Repository를 Page<String>으로 변경하고 Pageable을 파라미터로 받아서 호출합니다.
     */
+    @Transactional(readOnly = true)
     public List<String> getUniqueCategories() {
-        return productRepository.findDistinctCategories();
+        return productCategoryIndex.getCategoryNames();
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryListResponse getCategories(int page, int size, CategorySortType sortType) {
+        if (size < 1 || size > MAX_CATEGORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CATEGORY_PAGE_SIZE);
+        }
+        Page<CategoryCountResponse> categories = productCategoryIndex.getCategories(PageRequest.of(page, size, sortType.toSort()))
+                .map(CategoryCountResponse::from);
+        return new CategoryListResponse(categories.getContent(), categories.getTotalPages(), categories.getTotalElements(), categories.getNumber());
+    }
+
+    public ProductSearchResponse searchByName(String query, String category, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return productSearchIndex.search(query, category, limit);
+    }
+
+    public String getCatalogETag() {
+        return catalogVersion.eTag();
+    }
+
+    public ProductCacheStatsResponse getCacheStats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(PRODUCT_CACHE);
+        return ProductCacheStatsResponse.of(cache.getNativeCache().estimatedSize(), cache.getNativeCache().stats());
+    }
+
+    private Product findProduct(Long productId) {
+        return productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("product not found"));
+    }
+
+    private record ListKey(String category, int page, int size) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.wjc.codetest.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+1. 문제: 변경을 메모리 큐에만 두고 응답하면 프로세스가 죽을 때 응답까지 받은 변경이 사라집니다.
+2. 원인: 비동기 쓰기
+3. 개선안: 응답 전에 변경을 NDJSON 한 줄로 로그 파일에 덧붙이고 fsync(force)합니다.
+          append는 짧은 lock 안에서 파일에 쓰기만 하고, force는 lock 밖에서 한 번에 처리하여
+          동시에 들어온 요청들이 fsync 한 번을 나눠 쓰도록(group commit) 합니다.
+          모든 변경이 DB에 반영되면 파일을 비웁니다.
+*/
+@Slf4j
+final class ProductWriteAheadLog implements AutoCloseable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final Object syncLock = new Object();
+
+    private long writtenPosition;
+    private volatile long syncedPosition;
+
+    ProductWriteAheadLog(Path path, ObjectMapper objectMapper) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // 비정상 종료로 잘린 마지막 줄 뒤에 이어 쓰면 새 레코드까지 읽을 수 없게 되므로 마지막 줄바꿈 이후를 잘라냅니다.
+        long completeLength = completeLinesLength(path);
+        if (completeLength < channel.size()) {
+            log.warn("truncating partial write-behind log line :: bytes={}", channel.size() - completeLength);
+            channel.truncate(completeLength);
+        }
+        this.writtenPosition = channel.size();
+        this.syncedPosition = writtenPosition;
+        channel.position(writtenPosition);
+    }
+
+    private static long completeLinesLength(Path path) throws IOException {
+        long length = 0;
+        long position = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b == '\n') {
+                    length = position;
+                }
+            }
+        }
+        return length;
+    }
+
+    /** 파일에 남아 있는 레코드를 읽습니다. 읽을 수 없는 줄은 건너뜁니다. */
+    List<WriteBehindRecord> readAll() throws IOException {
+        List<WriteBehindRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(objectMapper.readValue(line, WriteBehindRecord.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("skipping unreadable write-behind log line :: errorCause={}", e.getOriginalMessage());
+                }
+            }
+        }
+        return records;
+    }
+
+    /** 레코드를 파일 끝에 쓰고 쓴 위치를 반환합니다. 호출자는 같은 lock 안에서 seq를 발급해야 합니다. */
+    long append(WriteBehindRecord record) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            writtenPosition += line.length;
+            return writtenPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** position까지 디스크에 기록되었음을 보장합니다. 이미 다른 요청의 force가 덮었다면 바로 반환합니다. */
+    void sync(long position) {
+        if (syncedPosition >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedPosition >= position) {
+                return;
+            }
+            try {
+                long end = channel.position();
+                channel.force(false);
+                syncedPosition = end;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** 모든 레코드가 반영되었을 때만 호출합니다. 호출자는 append와 같은 lock을 잡고 있어야 합니다. */
+    void truncate() {
+        synchronized (syncLock) {
+            try {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(false);
+                writtenPosition = 0;
+                syncedPosition = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
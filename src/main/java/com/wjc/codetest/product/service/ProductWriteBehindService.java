@@ -0,0 +1,442 @@
+package com.wjc.codetest.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wjc.codetest.product.exception.ProductWriteBehindFullException;
+import com.wjc.codetest.product.model.domain.WriteBehindCheckpoint;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.model.request.BulkUpdateProductItem;
+import com.wjc.codetest.product.model.response.BulkItemResult;
+import com.wjc.codetest.product.model.response.WriteBehindAcceptedResponse;
+import com.wjc.codetest.product.repository.WriteBehindCheckpointRepository;
+import com.wjc.codetest.product.service.WriteBehindRecord.Operation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/*
+1. 문제: 생성/수정/삭제 요청이 커밋될 때까지 요청 스레드를 붙잡아 대량 수정 시 쓰기 지연이 커집니다.
+2. 원인: 동기 쓰기
+3. 개선안: product.write-behind.enabled=true이면 변경을 write-ahead log에 fsync한 뒤 바로 202로 응답하고,
+          백그라운드 작업자가 flush-interval마다 모인 변경을 한 트랜잭션으로 반영합니다.
+          - 같은 id에 대한 수정/삭제는 마지막 변경 하나로 합칩니다(생성은 id가 없으므로 합치지 않습니다).
+            단, 대기 중인 삭제는 이후 수정으로 덮어쓰지 않습니다.
+          - 대기 중인 변경이 queue-capacity에 닿으면 로그에 쓰기 전에 503 + Retry-After로 거절합니다.
+          - 반영한 마지막 순번은 같은 트랜잭션에서 write_behind_checkpoint에 기록하므로,
+            재기동 시 로그에서 checkpoint 이후 레코드만 다시 적용하여 생성이 두 번 반영되지 않습니다.
+          - DB 연결 끊김, 잠금 대기 시간 초과처럼 일시적인 오류는 checkpoint를 올리지 않고 같은 묶음을 backoff로 재시도합니다.
+            종료 중에 일시적인 오류가 나면 남은 변경은 로그에 둔 채 멈추고 재기동 시 다시 적용합니다.
+          - 그 밖의 오류로 묶음이 실패하면 순번 순서대로 한 건씩 다시 적용하고, 그래도 실패한 변경만 로그와 지표를 남기고 건너뜁니다.
+            건너뛴 순번조차 checkpoint에 기록하지 못하면 작업자를 멈추고 재기동 시 로그에서 다시 적용합니다.
+            상품이 없는 수정/삭제처럼 항목 단위로 실패한 변경도 같은 지표로 셉니다.
+          로그는 대기 중인 변경이 모두 반영된 시점에만 비우므로, 쉬지 않고 쓰기가 계속되면 파일이 계속 커질 수 있습니다.
+*/
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "product.write-behind.enabled", havingValue = "true")
+public class ProductWriteBehindService implements SmartLifecycle {
+
+    private static final String CHECKPOINT_NAME = "product";
+
+    private final ProductBulkService productBulkService;
+    private final WriteBehindCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductWriteAheadLog writeAheadLog;
+    private final Counter rejectedCounter;
+    private final Counter retriedCounter;
+    private final Counter itemFailedCounter;
+    private final Counter droppedCounter;
+
+    private final int queueCapacity;
+    private final long flushIntervalMillis;
+    private final long retryAfterSeconds;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    /** seq 발급, 로그 append, 대기열 변경을 같은 순서로 묶는 lock */
+    private final Object lock = new Object();
+    private final List<WriteBehindRecord> pendingCreates = new ArrayList<>();
+    private final Map<Long, WriteBehindRecord> pendingById = new LinkedHashMap<>();
+    private long lastSeq;
+    private long appliedSeq;
+    private volatile boolean accepting;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public ProductWriteBehindService(ProductBulkService productBulkService,
+                                     WriteBehindCheckpointRepository checkpointRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${product.write-behind.wal-path}") Path walPath,
+                                     @Value("${product.write-behind.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${product.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                                     @Value("${product.write-behind.retry-after-seconds:1}") long retryAfterSeconds,
+                                     @Value("${product.write-behind.retry-backoff-ms:100}") long retryBackoffMillis,
+                                     @Value("${product.write-behind.max-retry-backoff-ms:5000}") long maxRetryBackoffMillis) throws IOException {
+        this.productBulkService = productBulkService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.writeAheadLog = new ProductWriteAheadLog(walPath, objectMapper);
+        this.queueCapacity = queueCapacity;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+        this.rejectedCounter = Counter.builder("product.write_behind.rejected").register(meterRegistry);
+        this.retriedCounter = Counter.builder("product.write_behind.retried").register(meterRegistry);
+        this.itemFailedCounter = Counter.builder("product.write_behind.failed").tag("reason", "item").register(meterRegistry);
+        this.droppedCounter = Counter.builder("product.write_behind.failed").tag("reason", "dropped").register(meterRegistry);
+        Gauge.builder("product.write_behind.pending", this, ProductWriteBehindService::pendingCount).register(meterRegistry);
+    }
+
+    public WriteBehindAcceptedResponse acceptCreate(BulkCreateProductItem item) {
+        checkValid(item.category(), item.name());
+        return accept(Operation.CREATE, null, item.category(), item.name());
+    }
+
+    public WriteBehindAcceptedResponse acceptUpdate(BulkUpdateProductItem item) {
+        if (item.id() == null) {
+            throw new IllegalArgumentException("id is required");
+        }
+        checkValid(item.category(), item.name());
+        return accept(Operation.UPDATE, item.id(), item.category(), item.name());
+    }
+
+    public WriteBehindAcceptedResponse acceptDelete(Long productId) {
+        return accept(Operation.DELETE, productId, null, null);
+    }
+
+    private WriteBehindAcceptedResponse accept(Operation operation, Long id, String category, String name) {
+        WriteBehindRecord record;
+        long position;
+        synchronized (lock) {
+            if (!accepting || pendingCount() >= queueCapacity) {
+                rejectedCounter.increment();
+                throw new ProductWriteBehindFullException(retryAfterSeconds);
+            }
+            record = new WriteBehindRecord(lastSeq + 1, operation, id, category, name);
+            position = writeAheadLog.append(record);
+            lastSeq = record.seq();
+            enqueue(record);
+            lock.notifyAll();
+        }
+        writeAheadLog.sync(position);
+        return new WriteBehindAcceptedResponse(record.seq());
+    }
+
+    /*
+    1. 문제: 같은 id의 변경을 마지막 하나로만 남기면, 삭제 뒤에 들어온 수정이 삭제를 덮어써 클라이언트가 본 순서와 달리 상품이 남습니다.
+    2. 원인: pendingById.put(record.id(), record)
+    3. 개선안: 대기 중인 삭제는 이후 수정으로 바꾸지 않습니다. 순서대로 실행해도 삭제된 상품의 수정은 실패하므로 결과는 같습니다.
+    */
+    private void enqueue(WriteBehindRecord record) {
+        if (record.operation() == Operation.CREATE) {
+            pendingCreates.add(record);
+            return;
+        }
+        WriteBehindRecord pending = pendingById.get(record.id());
+        if (pending != null && pending.operation() == Operation.DELETE && record.operation() == Operation.UPDATE) {
+            log.debug("write-behind update superseded by pending delete :: seq={}, id={}", record.seq(), record.id());
+            return;
+        }
+        pendingById.put(record.id(), record);
+    }
+
+    private int pendingCount() {
+        synchronized (lock) {
+            return pendingCreates.size() + pendingById.size();
+        }
+    }
+
+    private void checkValid(String category, String name) {
+        String error = productBulkService.validate(category, name);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    @Override
+    public void start() {
+        replay();
+        running = true;
+        worker = new Thread(this::runWorker, "product-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** checkpoint 이후의 로그 레코드를 대기열에 다시 올린 뒤 새 요청을 받습니다. */
+    private void replay() {
+        long checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                .map(WriteBehindCheckpoint::getAppliedSeq)
+                .orElse(0L);
+        List<WriteBehindRecord> records;
+        try {
+            records = writeAheadLog.readAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        synchronized (lock) {
+            lastSeq = checkpoint;
+            appliedSeq = checkpoint;
+            int replayed = 0;
+            for (WriteBehindRecord record : records) {
+                lastSeq = Math.max(lastSeq, record.seq());
+                if (record.seq() > checkpoint) {
+                    enqueue(record);
+                    replayed++;
+                }
+            }
+            if (replayed == 0 && !records.isEmpty()) {
+                writeAheadLog.truncate();
+            }
+            accepting = true;
+            log.info("write-behind log replayed :: checkpoint={}, records={}, replayed={}", checkpoint, records.size(), replayed);
+        }
+    }
+
+    /*
+    1. 문제: 꺼낸 묶음을 반영하지 못한 채 다음 묶음으로 넘어가면 다음 checkpoint가 그 순번을 지나쳐 재기동 시에도 다시 적용되지 않습니다.
+    2. 원인: checkpoint는 하나의 순번
+    3. 개선안: 묶음을 끝까지 반영하지 못하면(종료 중 일시적 오류, 인터럽트, checkpoint 기록 실패 등) 새 요청을 503으로 거절하고
+              작업자를 멈춰 남은 변경을 로그에 둔 채 재기동 시 다시 적용하게 합니다.
+    */
+    private void runWorker() {
+        while (running || pendingCount() > 0) {
+            Batch batch = null;
+            try {
+                batch = awaitBatch();
+                if (!batch.records().isEmpty() && !apply(batch)) {
+                    halt(batch, null);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                halt(batch, e);
+                return;
+            } catch (RuntimeException e) {
+                halt(batch, e);
+                return;
+            }
+        }
+    }
+
+    private void halt(Batch batch, Exception cause) {
+        int unapplied = (batch == null ? 0 : batch.records().size()) + pendingCount();
+        synchronized (lock) {
+            accepting = false;
+        }
+        if (cause == null) {
+            log.warn("write-behind stopped with unapplied records, they will be replayed from the log :: unapplied={}", unapplied);
+        } else {
+            log.error("write-behind worker stopped, unapplied records will be replayed from the log :: unapplied={}, errorCause={}",
+                    unapplied, cause.getMessage(), cause);
+        }
+    }
+
+    /** 변경이 들어올 때까지 기다린 뒤 flush-interval 동안 더 모아서(그 사이 같은 id의 변경은 합쳐짐) 한 번에 꺼냅니다. */
+    private Batch awaitBatch() throws InterruptedException {
+        synchronized (lock) {
+            while (running && pendingCreates.isEmpty() && pendingById.isEmpty()) {
+                lock.wait();
+            }
+            if (running) {
+                lock.wait(flushIntervalMillis);
+            }
+            List<WriteBehindRecord> batch = new ArrayList<>(pendingCreates.size() + pendingById.size());
+            batch.addAll(pendingCreates);
+            batch.addAll(pendingById.values());
+            pendingCreates.clear();
+            pendingById.clear();
+            batch.sort(Comparator.comparingLong(WriteBehindRecord::seq));
+            // 합쳐져서 빠진 레코드도 지금까지 발급된 순번 이하이므로 이 묶음과 함께 반영된 것으로 봅니다.
+            return new Batch(batch, lastSeq);
+        }
+    }
+
+    /** 묶음을 반영하면 true, 종료 중 일시적인 오류로 반영하지 못하고 로그에 남겨두면 false */
+    private boolean apply(Batch batch) throws InterruptedException {
+        try {
+            if (!withRetry(() -> applyInTransaction(batch.records(), batch.seq()))) {
+                return false;
+            }
+        } catch (RuntimeException e) {
+            log.warn("write-behind batch failed, applying record by record :: size={}, errorCause={}",
+                    batch.records().size(), e.getMessage());
+            for (WriteBehindRecord record : batch.records()) {
+                if (!applyOne(record)) {
+                    return false;
+                }
+            }
+            if (!withRetry(() -> advanceCheckpoint(batch.seq()))) {
+                return false;
+            }
+        }
+        markApplied(batch.seq());
+        return true;
+    }
+
+    private boolean applyOne(WriteBehindRecord record) throws InterruptedException {
+        try {
+            return withRetry(() -> applyInTransaction(List.of(record), record.seq()));
+        } catch (RuntimeException e) {
+            droppedCounter.increment();
+            log.error("write-behind record dropped :: seq={}, operation={}, id={}, errorCause={}",
+                    record.seq(), record.operation(), record.id(), e.getMessage());
+            return withRetry(() -> advanceCheckpoint(record.seq()));
+        }
+    }
+
+    /*
+    1. 문제: 일시적인 DB 장애에도 변경을 건너뛰면 이미 202로 응답하고 로그에 fsync한 쓰기가 사라집니다.
+    2. 원인: 모든 예외를 같은 실패로 처리
+    3. 개선안: 일시적인 오류는 checkpoint를 올리지 않고 backoff를 두 배씩 늘리며(최대 max-retry-backoff-ms) 다시 실행하고,
+              그 밖의 오류만 호출자에게 던져 건너뛸지 판단하게 합니다.
+              종료 중이면 더 기다리지 않고 false를 반환하여 남은 변경을 재기동 시 로그에서 다시 적용하게 합니다.
+    */
+    private boolean withRetry(Runnable action) throws InterruptedException {
+        long backoff = retryBackoffMillis;
+        while (true) {
+            try {
+                action.run();
+                return true;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                if (!running) {
+                    log.warn("write-behind transient failure during shutdown :: errorCause={}", e.getMessage());
+                    return false;
+                }
+                retriedCounter.increment();
+                log.warn("write-behind transient failure, retrying :: backoffMs={}, errorCause={}", backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, maxRetryBackoffMillis);
+            }
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void applyInTransaction(List<WriteBehindRecord> records, long checkpoint) {
+        List<BulkCreateProductItem> creates = new ArrayList<>();
+        List<WriteBehindRecord> createRecords = new ArrayList<>();
+        List<BulkUpdateProductItem> updates = new ArrayList<>();
+        List<WriteBehindRecord> updateRecords = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        List<WriteBehindRecord> deleteRecords = new ArrayList<>();
+        for (WriteBehindRecord record : records) {
+            switch (record.operation()) {
+                case CREATE -> {
+                    creates.add(new BulkCreateProductItem(record.category(), record.name()));
+                    createRecords.add(record);
+                }
+                case UPDATE -> {
+                    updates.add(new BulkUpdateProductItem(record.id(), record.category(), record.name()));
+                    updateRecords.add(record);
+                }
+                case DELETE -> {
+                    deletes.add(record.id());
+                    deleteRecords.add(record);
+                }
+            }
+        }
+        List<ItemFailure> failures = transactionTemplate.execute(status -> {
+            List<ItemFailure> itemFailures = new ArrayList<>();
+            if (!creates.isEmpty()) {
+                collectFailures(productBulkService.createInCurrentTransaction(creates), createRecords, itemFailures);
+            }
+            if (!updates.isEmpty()) {
+                collectFailures(productBulkService.updateInCurrentTransaction(updates), updateRecords, itemFailures);
+            }
+            if (!deletes.isEmpty()) {
+                collectFailures(productBulkService.deleteInCurrentTransaction(deletes), deleteRecords, itemFailures);
+            }
+            checkpointRepository.advance(CHECKPOINT_NAME, checkpoint);
+            return itemFailures;
+        });
+        // 항목 단위 실패(상품 없음, 유효성 오류)는 다시 실행해도 같은 결과이므로 커밋된 뒤에 기록만 남깁니다.
+        for (ItemFailure failure : failures) {
+            itemFailedCounter.increment();
+            log.warn("write-behind record not applied :: seq={}, operation={}, id={}, error={}",
+                    failure.record().seq(), failure.record().operation(), failure.record().id(), failure.error());
+        }
+    }
+
+    private static void collectFailures(List<BulkItemResult> results, List<WriteBehindRecord> records, List<ItemFailure> failures) {
+        for (BulkItemResult result : results) {
+            if (!result.success()) {
+                failures.add(new ItemFailure(records.get(result.index()), result.error()));
+            }
+        }
+    }
+
+    private void advanceCheckpoint(long checkpoint) {
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.advance(CHECKPOINT_NAME, checkpoint));
+    }
+
+    /** 대기 중인 변경이 없고 로그의 모든 레코드가 반영되었으면 로그를 비웁니다. */
+    private void markApplied(long seq) {
+        synchronized (lock) {
+            appliedSeq = Math.max(appliedSeq, seq);
+            if (appliedSeq == lastSeq && pendingCreates.isEmpty() && pendingById.isEmpty()) {
+                writeAheadLog.truncate();
+            }
+        }
+    }
+
+    /** 새 요청을 거절하고 대기 중인 변경을 모두 반영한 뒤 멈춥니다. */
+    @Override
+    public void stop() {
+        synchronized (lock) {
+            accepting = false;
+            running = false;
+            lock.notifyAll();
+        }
+        try {
+            if (worker != null) {
+                worker.join();
+            }
+            writeAheadLog.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("failed to close write-behind log :: errorCause={}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record Batch(List<WriteBehindRecord> records, long seq) {
+    }
+
+    private record ItemFailure(WriteBehindRecord record, String error) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.wjc.codetest.product.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+1. 문제: 인기 상품 하나 또는 같은 카테고리/페이지에 요청이 몰리거나 캐시 항목이 만료되면 같은 쿼리가 동시에 수십 번 실행됩니다.
+2. 원인: 요청마다 독립적으로 Repository 호출
+3. 개선안: (이름, 키)마다 진행 중인 조회를 하나만 두고(single-flight) 같은 키로 동시에 들어온 호출은 그 결과(또는 예외)를 함께 받습니다.
+          결과를 보관하지 않으므로 조회가 끝난 뒤의 호출은 다시 DB를 조회하며, 캐시처럼 오래된 값을 돌려주지 않습니다.
+          기다리는 호출이 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 합치고, 실제 조회(leader)만 readOnly 트랜잭션을 엽니다.
+          이미 트랜잭션 안에서 호출되면 커밋되지 않은 변경이 다른 요청에 공유될 수 있으므로 합치지 않고 바로 조회합니다.
+          product.read.coalescing{result=executed|shared} 카운터와 product.read.coalescing.ratio(shared / 전체) 게이지로 효과를 봅니다.
+*/
+@Component
+public class ReadCoalescer {
+
+    private static final String METRIC_NAME = "product.read.coalescing";
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V read(String name, Object key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+
+        Stats nameStats = stats.computeIfAbsent(name, this::register);
+        Key flightKey = new Key(name, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            nameStats.shared().increment();
+            return (V) await(existing);
+        }
+
+        nameStats.executed().increment();
+        try {
+            V value = readOnlyTransaction.execute(status -> loader.get());
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Stats register(String name) {
+        Counter executed = Counter.builder(METRIC_NAME)
+                .description("Reads that ran their own query")
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        Counter shared = Counter.builder(METRIC_NAME)
+                .description("Reads that joined an identical in-flight query")
+                .tag("name", name)
+                .tag("result", "shared")
+                .register(meterRegistry);
+        Stats nameStats = new Stats(executed, shared);
+        Gauge.builder(METRIC_NAME + ".ratio", nameStats, Stats::ratio)
+                .description("Share of reads served by another caller's in-flight query")
+                .tag("name", name)
+                .register(meterRegistry);
+        return nameStats;
+    }
+
+    private record Key(String name, Object key) {
+    }
+
+    private record Stats(Counter executed, Counter shared) {
+
+        double ratio() {
+            double total = executed.count() + shared.count();
+            return total == 0 ? 0 : shared.count() / total;
+        }
+    }
+}
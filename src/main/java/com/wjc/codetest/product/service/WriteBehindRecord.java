@@ -0,0 +1,11 @@
+package com.wjc.codetest.product.service;
+
+/**
+ * write-ahead log 한 줄. seq는 로그 안에서 증가하며 적용 순서와 checkpoint 비교에 사용합니다.
+ */
+record WriteBehindRecord(long seq, Operation operation, Long id, String category, String name) {
+
+    enum Operation {
+        CREATE, UPDATE, DELETE
+    }
+}
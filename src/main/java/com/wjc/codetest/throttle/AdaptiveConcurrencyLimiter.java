@@ -0,0 +1,83 @@
+package com.wjc.codetest.throttle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/*
+1. 문제: 동시 요청 수에 제한이 없으면 DB가 느려질 때 요청이 커넥션 풀 대기열에 쌓여 모든 요청의 지연이 함께 늘어납니다.
+        고정 한도는 DB 상태에 따라 너무 크거나 작아집니다.
+2. 원인: 처리 가능한 동시성을 알 수 없음
+3. 개선안: AIMD로 동시 처리 한도를 조절합니다. 대화형 요청의 응답 시간이 latencyThreshold를 넘거나 커넥션을 기다리는 스레드가 생기면
+          한도를 10% 줄이고(cooldown 동안 한 번), 한도의 절반 이상을 쓰면서도 빠르게 끝나면 1/limit씩 늘립니다.
+          배치 요청은 한도의 batchShare까지만 쓸 수 있어 배치가 몰려도 대화형 요청의 자리가 남으며,
+          배치 요청의 긴 응답 시간은 한도 계산에 넣지 않습니다.
+*/
+final class AdaptiveConcurrencyLimiter {
+
+    private static final double DECREASE_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double batchShare;
+    private final IntSupplier pendingConnections;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseAt;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                               double batchShare, IntSupplier pendingConnections) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (batchShare <= 0 || batchShare > 1) {
+            throw new IllegalArgumentException("batchShare must be in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.batchShare = batchShare;
+        this.pendingConnections = pendingConnections;
+        this.limit = initialLimit;
+        this.lastDecreaseAt = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    boolean tryAcquire(boolean batch) {
+        int allowed = batch ? Math.max(1, (int) (limit * batchShare)) : (int) limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(boolean batch, long latencyNanos, long now) {
+        int current = inFlight.getAndDecrement();
+        if (batch) {
+            return;
+        }
+        synchronized (this) {
+            if (latencyNanos > latencyThresholdNanos || pendingConnections.getAsInt() > 0) {
+                if (now - lastDecreaseAt >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, limit * DECREASE_RATIO);
+                    lastDecreaseAt = now;
+                }
+            } else if (current * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,70 @@
+package com.wjc.codetest.throttle;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/*
+1. 문제: 요청률/동시성 제한을 끄고 켜거나 route별로 다르게 줄 방법이 없습니다.
+2. 원인: 설정 부재
+3. 개선안: product.load-shedding.enabled=true일 때만 인터셉터를 등록합니다.
+          actuator, H2 콘솔, 스트리밍 내보내기(/product/export)와 long-poll 변경 피드(/product/changes)는
+          커넥션을 오래 잡거나 대기만 하므로 제한 대상에서 뺍니다.
+          커넥션 풀 대기 스레드 수는 Hikari에서 읽으며, Hikari가 아니면 응답 시간만으로 한도를 조절합니다.
+*/
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+@ConditionalOnProperty(name = "product.load-shedding.enabled", havingValue = "true")
+public class LoadSheddingConfig implements WebMvcConfigurer {
+
+    private final LoadSheddingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<DataSource> dataSource;
+
+    @Bean
+    AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+        LoadSheddingProperties.Concurrency concurrency = properties.concurrency();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                concurrency.initialLimit(),
+                concurrency.minLimit(),
+                concurrency.maxLimit(),
+                concurrency.latencyThreshold().toNanos(),
+                concurrency.batchShare(),
+                this::threadsAwaitingConnection);
+        Gauge.builder("product.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("product.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+        return limiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LoadSheddingInterceptor(properties, adaptiveConcurrencyLimiter(), meterRegistry))
+                .excludePathPatterns("/actuator/**", "/h2-console/**", "/product/export", "/product/changes");
+    }
+
+    private int threadsAwaitingConnection() {
+        DataSource target = dataSource.getIfAvailable();
+        try {
+            if (target == null || !target.isWrapperFor(HikariDataSource.class)) {
+                return 0;
+            }
+            HikariPoolMXBean pool = target.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+        } catch (SQLException e) {
+            return 0;
+        }
+    }
+}
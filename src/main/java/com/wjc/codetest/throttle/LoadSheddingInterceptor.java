@@ -0,0 +1,146 @@
+package com.wjc.codetest.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wjc.codetest.product.exception.ProductOverloadedException;
+import com.wjc.codetest.product.exception.ProductRateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+1. 문제: ProductController는 들어오는 요청을 모두 받아 배치 클라이언트 하나가 몰아서 보내면 대화형 요청의 p99가 함께 올라갑니다.
+2. 원인: 요청 수/동시성 제한 부재
+3. 개선안: 컨트롤러 실행 전에 (클라이언트, route)별 토큰 버킷으로 요청률을 제한하고(429),
+          통과한 요청은 AdaptiveConcurrencyLimiter의 동시 처리 한도 안에서만 실행합니다(503).
+          둘 다 DB 커넥션을 얻기 전에 거절하므로 거절된 요청은 풀 대기열에 들어가지 않습니다.
+          클라이언트는 원격 주소로 구분하고, 버킷은 10분간 요청이 없으면 버립니다.
+          clientHeader는 호출자가 마음대로 바꿀 수 있어 매 요청 새 버킷을 받거나 다른 클라이언트의 버킷을 캐시에서 밀어낼 수 있으므로,
+          원격 주소가 trustedProxies에 있는(값을 덮어쓰는 프록시를 거친) 요청에서만 사용합니다.
+          비동기 요청은 비동기 처리가 시작되면 동시 처리 자리를 반납합니다.
+          product.requests.shed{reason, route} 카운터와 product.concurrency.limit / inflight 게이지를 남깁니다.
+*/
+public class LoadSheddingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".started";
+    private static final String DEFAULT_ROUTE = "default";
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long overloadRetryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+    private final Route defaultRoute;
+    private final Map<String, Route> routesByPattern = new HashMap<>();
+    private final Cache<BucketKey, TokenBucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .maximumSize(100_000)
+            .build();
+
+    LoadSheddingInterceptor(LoadSheddingProperties properties, AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        this.clientHeader = properties.clientHeader();
+        this.trustedProxies = properties.trustedProxies() == null ? Set.of() : Set.copyOf(properties.trustedProxies());
+        this.limiter = limiter;
+        this.overloadRetryAfterSeconds = properties.concurrency().retryAfterSeconds();
+        this.meterRegistry = meterRegistry;
+        this.defaultRoute = new Route(DEFAULT_ROUTE, properties.defaultRoute());
+        if (properties.routes() != null) {
+            properties.routes().forEach((name, route) -> {
+                if (route.patterns() != null) {
+                    route.patterns().forEach(pattern -> routesByPattern.put(pattern, new Route(name, route)));
+                }
+            });
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        Route route = resolve(request);
+        long now = System.nanoTime();
+
+        TokenBucket bucket = buckets.get(new BucketKey(clientKey(request), route.name()),
+                key -> new TokenBucket(route.config().capacity(), route.config().refillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            shed("rate_limit", route);
+            throw new ProductRateLimitedException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+
+        boolean batch = route.config().batch();
+        if (!limiter.tryAcquire(batch)) {
+            shed("concurrency", route);
+            throw new ProductOverloadedException(overloadRetryAfterSeconds);
+        }
+        request.setAttribute(STARTED_ATTRIBUTE, new Started(now, batch));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) instanceof Started started) {
+            request.removeAttribute(STARTED_ATTRIBUTE);
+            long now = System.nanoTime();
+            limiter.release(started.batch(), now - started.at(), now);
+        }
+    }
+
+    private Route resolve(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? defaultRoute : routesByPattern.getOrDefault(pattern.toString(), defaultRoute);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (remoteAddr == null) {
+            return UNKNOWN_CLIENT;
+        }
+        if (trustedProxies.contains(remoteAddr)) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return remoteAddr;
+    }
+
+    private void shed(String reason, Route route) {
+        Counter.builder("product.requests.shed")
+                .description("Requests rejected before reaching the controller")
+                .tag("reason", reason)
+                .tag("route", route.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Route(String name, LoadSheddingProperties.Route config) {
+    }
+
+    private record BucketKey(String client, String route) {
+    }
+
+    private record Started(long at, boolean batch) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.wjc.codetest.throttle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * routes의 patterns는 컨트롤러 매핑 패턴(예: /get/product/by/{productId})과 그대로 비교합니다.
+ * 어느 route에도 속하지 않는 요청은 defaultRoute의 버킷을 씁니다.
+ * clientHeader는 원격 주소가 trustedProxies 중 하나와 정확히 같은 요청에서만 클라이언트 구분에 사용합니다.
+ */
+@ConfigurationProperties("product.load-shedding")
+public record LoadSheddingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("X-Client-Id") String clientHeader,
+        List<String> trustedProxies,
+        @DefaultValue Route defaultRoute,
+        Map<String, Route> routes,
+        @DefaultValue Concurrency concurrency) {
+
+    public record Route(
+            List<String> patterns,
+            @DefaultValue("100") int capacity,
+            @DefaultValue("50") double refillPerSecond,
+            @DefaultValue("false") boolean batch) {
+    }
+
+    public record Concurrency(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("100ms") Duration latencyThreshold,
+            @DefaultValue("0.5") double batchShare,
+            @DefaultValue("1") long retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.wjc.codetest.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * capacity만큼 몰아서 보낼 수 있고 초당 refillPerSecond개씩 다시 채워지는 토큰 버킷입니다.
+ * 토큰이 없으면 다음 토큰까지 남은 시간(ns)을 돌려주어 Retry-After 계산에 씁니다.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, double refillPerSecond, long now) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refillPerSecond > 0");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /** 토큰을 하나 쓰면 0, 없으면 다음 토큰까지 기다려야 하는 시간(ns)을 반환합니다. */
+    synchronized long tryConsume(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerNano);
+    }
+}
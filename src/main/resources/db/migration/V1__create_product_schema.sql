@@ -0,0 +1,19 @@
+-- Product ids are allocated in blocks; INCREMENT BY must equal Product.ID_ALLOCATION_SIZE.
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE product (
+    product_id BIGINT       NOT NULL,
+    category   VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    version    BIGINT       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (product_id)
+);
+
+-- Serves category lookups, ORDER BY category, and the (category, product_id) keyset cursor without a table scan.
+CREATE INDEX idx_product_category_id ON product (category, product_id);
+
+CREATE TABLE product_category (
+    category      VARCHAR(255) NOT NULL,
+    product_count BIGINT       NOT NULL,
+    PRIMARY KEY (category)
+);
@@ -0,0 +1,6 @@
+-- Highest write-ahead log sequence applied to product, updated in the same transaction as the applied batch.
+CREATE TABLE write_behind_checkpoint (
+    name        VARCHAR(64) NOT NULL,
+    applied_seq BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,17 @@
+-- Change feed sequence numbers are handed out from memory in blocks; INCREMENT BY must equal ProductChangeFeed.SEQ_BLOCK_SIZE.
+CREATE SEQUENCE product_change_seq START WITH 1 INCREMENT BY 50;
+
+-- Outbox of product mutations, written in the same transaction as the mutation and read by /product/changes.
+CREATE TABLE product_change (
+    seq         BIGINT                      NOT NULL,
+    change_type VARCHAR(16)                 NOT NULL,
+    product_id  BIGINT                      NOT NULL,
+    category    VARCHAR(255)                NOT NULL,
+    name        VARCHAR(255)                NOT NULL,
+    version     BIGINT,
+    changed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+-- Retention cleanup finds the newest expired row by time.
+CREATE INDEX idx_product_change_changed_at ON product_change (changed_at);
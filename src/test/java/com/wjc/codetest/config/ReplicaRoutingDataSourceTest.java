@@ -0,0 +1,54 @@
+package com.wjc.codetest.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate writeTransaction;
+    TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource routingDataSource = ReplicaRoutingDataSource.create(primary, replica);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica, 나머지 트랜잭션은 primary 커넥션을 사용함")
+    void test_route_1() {
+        String writeUrl = writeTransaction.execute(status -> currentUrl());
+        String readUrl = readOnlyTransaction.execute(status -> currentUrl());
+
+        assertThat(writeUrl).contains("routing-primary");
+        assertThat(readUrl).contains("routing-replica");
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖의 호출은 primary 커넥션을 사용함")
+    void test_route_2() {
+        assertThat(currentUrl()).contains("routing-primary");
+    }
+
+    private String currentUrl() {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+    }
+}
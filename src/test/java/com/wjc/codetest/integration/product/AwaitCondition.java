@@ -0,0 +1,32 @@
+package com.wjc.codetest.integration.product;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 백그라운드 작업(write-behind 반영, long-poll 응답, 지표 증가)을 기다리는 테스트 공용 polling 도우미 */
+final class AwaitCondition {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private AwaitCondition() {
+    }
+
+    static void until(BooleanSupplier condition) {
+        until("condition", condition);
+    }
+
+    static void until(String description, BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("%s not met within %dms", description, TIMEOUT_MILLIS).isLessThan(deadline);
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
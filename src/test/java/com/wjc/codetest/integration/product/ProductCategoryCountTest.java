@@ -0,0 +1,104 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.repository.ProductRepository;
+import com.wjc.codetest.product.service.ProductCategoryIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProductCategoryCountTest {
+
+    @LocalServerPort
+    int port;
+
+    WebTestClient client;
+
+    @Autowired
+    ProductRepository repo;
+
+    @Autowired
+    ProductCategoryIndex categoryIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+
+        repo.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            repo.save(new Product("counted", "name" + i));
+        }
+        categoryIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("카테고리 목록의 전체 건수는 COUNT 쿼리가 아니라 카테고리 집계값에서 읽음")
+    void test_categoryCount_1() {
+        setProductCount("counted", 7);
+
+        client.get().uri("/product/list?category=counted&page=0&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products.length()").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(7)
+                .jsonPath("$.totalPages").isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("집계값이 실제보다 작아도 다음 페이지가 있으면 전체 건수를 보정하고 마지막 페이지는 실제 건수로 맞춤")
+    void test_categoryCount_2() {
+        setProductCount("counted", 1);
+
+        client.get().uri("/product/list?category=counted&page=0&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalPages").isEqualTo(2);
+
+        client.get().uri("/product/list?category=counted&page=1&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products.length()").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("reconcile은 어긋난 카테고리만 실제 상품 수로 보정함")
+    void test_categoryCount_3() {
+        // 카테고리 인덱스를 거치지 않은 변경: 집계에 없는 카테고리, 실제보다 큰 집계값, 상품이 없는 집계
+        repo.save(new Product("uncounted", "name0"));
+        setProductCount("counted", 10);
+        jdbcTemplate.update("INSERT INTO product_category (category, product_count) VALUES ('orphan', 4)");
+
+        assertThat(categoryIndex.reconcile()).isEqualTo(3);
+
+        assertThat(categoryIndex.getProductCount("counted")).isEqualTo(3);
+        assertThat(categoryIndex.getProductCount("uncounted")).isEqualTo(1);
+        assertThat(categoryIndex.getProductCount("orphan")).isZero();
+        assertThat(categoryIndex.getCategoryNames()).containsExactly("counted", "uncounted");
+
+        assertThat(categoryIndex.reconcile()).isZero();
+    }
+
+    private void setProductCount(String category, long productCount) {
+        jdbcTemplate.update("UPDATE product_category SET product_count = ? WHERE category = ?", productCount, category);
+    }
+}
@@ -0,0 +1,132 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.product.model.request.CreateProductRequest;
+import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.ProductChangeFeedResponse;
+import com.wjc.codetest.product.model.response.ProductChangeResponse;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.service.ProductChangeFeed;
+import com.wjc.codetest.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProductChangeFeedTest {
+
+    @LocalServerPort
+    int port;
+
+    WebTestClient client;
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductChangeFeed changeFeed;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    long head;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+        head = changeFeed.currentSeq();
+    }
+
+    @Test
+    @DisplayName("생성/수정/삭제가 seq 순서대로 피드에 기록되고 nextSeq로 이어 받을 수 있음")
+    void test_changeFeed_1() {
+        ProductResponse created = productService.create(new CreateProductRequest("feed", "v0"));
+        productService.update(new UpdateProductRequest(created.id(), "feed", "v1"), null);
+        productService.deleteById(created.id());
+
+        ProductChangeFeedResponse first = changeFeed.read(head, 2);
+        ProductChangeFeedResponse second = changeFeed.read(first.nextSeq(), 2);
+
+        assertThat(first.changes()).extracting(ProductChangeResponse::type).containsExactly("CREATED", "UPDATED");
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.changes()).extracting(ProductChangeResponse::type).containsExactly("DELETED");
+        assertThat(second.changes().get(0).name()).isEqualTo("v1");
+        assertThat(second.hasMore()).isFalse();
+        assertThat(changeFeed.read(second.nextSeq(), 10).changes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("먼저 시작한 트랜잭션이 커밋되기 전에는 뒤에 커밋된 변경도 내보내지 않아 커서가 변경을 건너뛰지 않음")
+    void test_changeFeed_2() {
+        ProductChangeFeedResponse whileInFlight = transactionTemplate.execute(status -> {
+            productService.create(new CreateProductRequest("feed-slow", "first"));
+            CompletableFuture.runAsync(() -> productService.create(new CreateProductRequest("feed-fast", "second"))).join();
+            return CompletableFuture.supplyAsync(() -> changeFeed.read(head, 10)).join();
+        });
+        ProductChangeFeedResponse afterCommit = changeFeed.read(head, 10);
+
+        assertThat(whileInFlight.changes()).isEmpty();
+        assertThat(afterCommit.changes()).extracting(ProductChangeResponse::category)
+                .containsExactly("feed-slow", "feed-fast");
+    }
+
+    @Test
+    @DisplayName("롤백된 변경은 피드에 나타나지 않음")
+    void test_changeFeed_3() {
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.create(new CreateProductRequest("feed-rollback", "name"));
+            status.setRollbackOnly();
+        });
+
+        ProductChangeFeedResponse response = changeFeed.read(head, 10);
+
+        assertThat(response.changes()).isEmpty();
+        assertThat(response.nextSeq()).isGreaterThan(head);
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 응답을 보류했다가 커밋이 일어나면 바로 응답함 (long-poll)")
+    void test_changeFeed_4() {
+        DeferredResult<ProductChangeFeedResponse> result = changeFeed.poll(head, 10, Duration.ofSeconds(10));
+        assertThat(result.hasResult()).isFalse();
+
+        productService.create(new CreateProductRequest("feed-poll", "name"));
+
+        AwaitCondition.until("long-poll result", result::hasResult);
+        ProductChangeFeedResponse response = (ProductChangeFeedResponse) result.getResult();
+        assertThat(response.changes()).extracting(ProductChangeResponse::category).containsExactly("feed-poll");
+    }
+
+    @Test
+    @DisplayName("GET /product/changes는 after 이후의 변경을 묶어서 반환함")
+    void test_changeFeed_5() {
+        productService.create(new CreateProductRequest("feed-http", "name"));
+
+        client.get().uri("/product/changes?after={after}&limit=10", head)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.changes[0].category").isEqualTo("feed-http")
+                .jsonPath("$.changes[0].type").isEqualTo("CREATED")
+                .jsonPath("$.nextSeq").isNumber()
+                .jsonPath("$.resyncRequired").isEqualTo(false);
+
+        client.get().uri("/product/changes?after=0&limit=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
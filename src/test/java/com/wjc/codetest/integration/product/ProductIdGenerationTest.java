@@ -0,0 +1,60 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductIdGenerationTest {
+
+    @Autowired
+    ProductRepository repo;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("pooled 시퀀스와 JDBC 배치로 N건 저장 시 시퀀스 조회와 INSERT가 블록 단위로 묶여 2N보다 훨씬 적은 statement가 실행됨")
+    void test_batchInsert_1() {
+        int count = 500;
+        List<Product> products = IntStream.range(0, count)
+                .mapToObj(i -> new Product("sequence", "sequence" + i))
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> repo.saveAll(products));
+
+        // 시퀀스 조회 count / 50회 + INSERT 배치 count / 50회
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(count);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(count / 10);
+    }
+}
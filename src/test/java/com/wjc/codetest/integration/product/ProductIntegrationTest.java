@@ -1,18 +1,30 @@
 package com.wjc.codetest.integration.product;
 
+import com.wjc.codetest.product.exception.ProductPreconditionFailedException;
 import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.model.request.UpdateProductRequest;
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSliceResponse;
 import com.wjc.codetest.product.repository.ProductRepository;
+import com.wjc.codetest.product.service.ProductCategoryIndex;
+import com.wjc.codetest.product.service.ProductSearchIndex;
+import com.wjc.codetest.product.service.ProductService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -26,6 +38,15 @@ class ProductIntegrationTest {
     @Autowired
     ProductRepository repo;
 
+    @Autowired
+    ProductCategoryIndex categoryIndex;
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductSearchIndex searchIndex;
+
     Long savedId;
 
     @BeforeEach
@@ -40,6 +61,10 @@ class ProductIntegrationTest {
 
         IntStream.range(1, 100)
                 .forEach(i -> repo.save(new Product("category"+i, "name"+i)));
+
+        // repository로 직접 저장한 데이터는 ProductService를 거치지 않으므로 카테고리 인덱스를 다시 집계합니다.
+        categoryIndex.rebuild();
+        searchIndex.rebuild();
     }
 
     @Test
@@ -83,7 +108,7 @@ class ProductIntegrationTest {
     }
 
     @Test
-    @DisplayName("업데이트가 POST로 구현됬으며 엔티티 그대로 응답으로 반환됨 또한 다중 생성자로 인한 역직렬화 실패로 에러 발생")
+    @DisplayName("업데이트 요청은 JSON으로 역직렬화되며 DTO와 새 버전 ETag를 반환함")
     void test_updateProduct_1() {
         String reqJson = """
             {"id": %d, "category": "category0", "name": "name123"}
@@ -93,7 +118,12 @@ class ProductIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(reqJson)
                 .exchange()
-                .expectStatus().is5xxServerError();
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(savedId)
+                .jsonPath("$.name").isEqualTo("name123")
+                .jsonPath("$.version").isEqualTo(1);
     }
 
     @Test
@@ -122,4 +152,517 @@ class ProductIntegrationTest {
                 .expectBody()
                 .jsonPath("$.length()").value(v -> assertThat((Integer) v).isGreaterThanOrEqualTo(100));
     }
+
+    @Test
+    @DisplayName("상품명 토큰 접두어로 검색하고 카테고리 필터와 상위 limit개 순위를 적용함")
+    void test_searchProducts_1() {
+        client.post().uri("/create/product/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    [{"category":"shoes", "name":"Running Shoe"},
+                     {"category":"shoes", "name":"Trail Running Shoe Pro"},
+                     {"category":"apparel", "name":"Running-Shirt"},
+                     {"category":"shoes", "name":"Walking Shoe"}]
+                    """)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/product/search?q=run sho&limit=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.matched").isEqualTo(2)
+                .jsonPath("$.products[0].name").isEqualTo("Running Shoe")
+                .jsonPath("$.products[1].name").isEqualTo("Trail Running Shoe Pro");
+
+        client.get().uri("/product/search?q=running&category=apparel")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.matched").isEqualTo(1)
+                .jsonPath("$.products[0].name").isEqualTo("Running-Shirt");
+
+        client.get().uri("/product/search?q=shoe&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.matched").isEqualTo(3)
+                .jsonPath("$.products.length()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("상품 삭제/수정이 커밋되면 검색 인덱스에도 반영됨")
+    void test_searchProducts_2() {
+        client.get().uri("/product/search?q=name0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.matched").isEqualTo(1);
+
+        productService.update(new UpdateProductRequest(savedId, "category0", "renamed"), null);
+
+        client.get().uri("/product/search?q=name0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.matched").isEqualTo(0);
+
+        client.post().uri("/delete/product/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/product/search?q=renamed")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.matched").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("카테고리/목록 조회는 카탈로그 버전 ETag를 내려주며 변경이 없으면 304, 상품이 바뀌면 200 반환")
+    void test_getProductListByCategory_3() {
+        String categoryETag = client.get().uri("/product/category/list")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Cache-Control", "no-cache")
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        assertThat(categoryETag).startsWith("\"catalog-");
+
+        client.get().uri("/product/category/list")
+                .header("If-None-Match", categoryETag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        client.get().uri("/product/list?category=category0&page=0&size=10")
+                .header("If-None-Match", categoryETag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        client.post().uri("/create/product/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    [{"category":"category0", "name":"new"}]
+                    """)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/product/list?category=category0&page=0&size=10")
+                .header("If-None-Match", categoryETag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("ETag", eTag -> assertThat(eTag).isNotEqualTo(categoryETag))
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("임계값 이상의 JSON 응답은 gzip으로 압축됨")
+    void test_getProductListByCategory_4() {
+        client.get().uri("/product/category/list")
+                .header("Accept-Encoding", "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Content-Encoding", "gzip");
+    }
+
+    @Test
+    @DisplayName("여러 카테고리의 상위 상품을 한 번에 조회하며 카테고리별로 묶어 전체 개수와 함께 반환함")
+    void test_getProductListByCategories_1() {
+        client.post().uri("/create/product/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    [{"category":"multiA", "name":"apple3"},
+                     {"category":"multiA", "name":"apple1"},
+                     {"category":"multiA", "name":"apple2"},
+                     {"category":"multiA", "name":"banana"},
+                     {"category":"multiB", "name":"apple_x"},
+                     {"category":"multiB", "name":"applex"}]
+                    """)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.post().uri("/product/list/multi")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"categories":["multiA", "multiB", "multiEmpty"], "namePrefix":"apple", "sort":"NAME", "page":0, "size":2}
+                    """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.categories.length()").isEqualTo(3)
+                .jsonPath("$.categories[0].category").isEqualTo("multiA")
+                .jsonPath("$.categories[0].totalElements").isEqualTo(3)
+                .jsonPath("$.categories[0].products[0].name").isEqualTo("apple1")
+                .jsonPath("$.categories[0].products[1].name").isEqualTo("apple2")
+                .jsonPath("$.categories[1].totalElements").isEqualTo(2)
+                .jsonPath("$.categories[2].category").isEqualTo("multiEmpty")
+                .jsonPath("$.categories[2].totalElements").isEqualTo(0)
+                .jsonPath("$.categories[2].products.length()").isEqualTo(0);
+
+        client.post().uri("/product/list/multi")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"categories":["multiA", "multiB"], "namePrefix":"apple_", "sort":"NAME", "page":1, "size":2}
+                    """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.categories[0].totalElements").isEqualTo(0)
+                .jsonPath("$.categories[1].totalElements").isEqualTo(1)
+                .jsonPath("$.categories[1].products.length()").isEqualTo(0);
+
+        client.post().uri("/product/list/multi")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"categories":["multiA", null], "page":0, "size":2}
+                    """)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.post().uri("/product/list/multi")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"categories":["multiA", " "], "page":0, "size":2}
+                    """)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("cursor 기반 목록 조회는 COUNT 없이 nextCursor로 다음 페이지를 이어서 조회함")
+    void test_getProductSliceByCategory_1() {
+        IntStream.range(0, 25)
+                .forEach(i -> repo.save(new Product("cursor", "cursor" + i)));
+
+        String firstBody = """
+            {"category":"cursor", "size":10}
+        """;
+
+        String nextCursor = client.post().uri("/product/list/cursor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(firstBody)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductSliceResponse.class)
+                .value(slice -> {
+                    assertThat(slice.products()).hasSize(10);
+                    assertThat(slice.hasNext()).isTrue();
+                })
+                .returnResult()
+                .getResponseBody()
+                .nextCursor();
+
+        String secondBody = """
+            {"category":"cursor", "cursor":"%s", "size":10}
+        """.formatted(nextCursor);
+
+        nextCursor = client.post().uri("/product/list/cursor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(secondBody)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductSliceResponse.class)
+                .value(slice -> assertThat(slice.products()).hasSize(10))
+                .returnResult()
+                .getResponseBody()
+                .nextCursor();
+
+        String lastBody = """
+            {"category":"cursor", "cursor":"%s", "size":10}
+        """.formatted(nextCursor);
+
+        client.post().uri("/product/list/cursor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(lastBody)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products.length()").isEqualTo(5)
+                .jsonPath("$.hasNext").isEqualTo(false)
+                .jsonPath("$.nextCursor").isEmpty();
+    }
+
+    @Test
+    @DisplayName("다른 카테고리의 cursor로 조회하면 400 반환")
+    void test_getProductSliceByCategory_2() {
+        String cursorOfCategory0 = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((savedId + ":category0").getBytes(StandardCharsets.UTF_8));
+
+        String body = """
+            {"category":"category1", "cursor":"%s", "size":10}
+        """.formatted(cursorOfCategory0);
+
+        client.post().uri("/product/list/cursor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("상품 단건 조회는 캐시되며 삭제 시 캐시에서도 제거됨")
+    void test_getProductById_3() {
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk();
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/product/cache/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.hitCount").value(v -> assertThat(((Number) v).longValue()).isGreaterThanOrEqualTo(1L));
+
+        client.post().uri("/delete/product/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    @DisplayName("단건 조회는 버전 ETag를 내려주며 If-None-Match가 같으면 본문 없이 304 반환")
+    void test_getProductById_4() {
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"0\"")
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(0);
+
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .header("If-None-Match", "W/\"0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"0\"")
+                .expectBody().isEmpty();
+
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .header("If-None-Match", "\"7\"")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("If-Match 버전이 현재 버전과 다르면 수정하지 않고 412 예외 발생")
+    void test_updateProduct_2() {
+        ProductResponse updated = productService.update(new UpdateProductRequest(savedId, "category0", "renamed"), 0L);
+        assertThat(updated.version()).isEqualTo(1L);
+
+        assertThatThrownBy(() -> productService.update(new UpdateProductRequest(savedId, "category0", "stale"), 0L))
+                .isInstanceOf(ProductPreconditionFailedException.class);
+
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .header("If-None-Match", "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("renamed");
+    }
+
+    @Test
+    @DisplayName("If-Match가 현재 ETag와 같으면 수정하고, 오래된 ETag로 다시 수정하면 현재 ETag와 함께 412 반환")
+    void test_updateProduct_3() {
+        String reqJson = """
+            {"id": %d, "category": "category0", "name": "%s"}
+            """;
+
+        client.post().uri("/update/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"0\"")
+                .bodyValue(reqJson.formatted(savedId, "renamed"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"");
+
+        client.post().uri("/update/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"0\"")
+                .bodyValue(reqJson.formatted(savedId, "stale"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().valueEquals("ETag", "\"1\"");
+
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("renamed");
+    }
+
+    @Test
+    @DisplayName("카테고리 목록을 상품 수와 함께 페이징/정렬하여 조회함")
+    void test_getCategoryPage_1() {
+        repo.save(new Product("category0", "name100"));
+        categoryIndex.rebuild();
+
+        client.get().uri("/product/category/page?page=0&size=10&sort=COUNT")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.categories.length()").isEqualTo(10)
+                .jsonPath("$.categories[0].category").isEqualTo("category0")
+                .jsonPath("$.categories[0].productCount").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(100)
+                .jsonPath("$.totalPages").isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("상품 삭제 시 카테고리 인덱스에서도 제거됨")
+    void test_getCategoryPage_2() {
+        client.post().uri("/delete/product/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/product/category/list")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("대량 생성/수정/삭제는 항목별 성공 여부를 반환함")
+    void test_bulkProducts_1() {
+        String createBody = """
+            [{"category":"bulk", "name":"bulk0"}, {"category":"bulk"}, {"category":"bulk", "name":"bulk2"}]
+        """;
+
+        client.post().uri("/create/product/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createBody)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(2)
+                .jsonPath("$.failed").isEqualTo(1)
+                .jsonPath("$.results[1].success").isEqualTo(false)
+                .jsonPath("$.results[1].error").isEqualTo("name is required");
+
+        String updateBody = """
+            [{"id": %d, "category":"bulk", "name":"renamed"}, {"id": 999999, "category":"bulk", "name":"missing"}]
+        """.formatted(savedId);
+
+        client.post().uri("/update/product/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateBody)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(1)
+                .jsonPath("$.results[1].error").isEqualTo("product not found");
+
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.category").isEqualTo("bulk")
+                .jsonPath("$.name").isEqualTo("renamed");
+
+        client.post().uri("/delete/product/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[%d, 999999]".formatted(savedId))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(1)
+                .jsonPath("$.failed").isEqualTo(1);
+
+        client.get().uri("/get/product/by/{productId}", savedId)
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    @DisplayName("카테고리별 상품을 NDJSON으로 스트리밍하여 내보냄")
+    void test_exportProducts_1() {
+        IntStream.range(0, 30)
+                .forEach(i -> repo.save(new Product("export", "export" + i)));
+
+        String body = client.get().uri("/product/export?category=export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(body.lines()).hasSize(30)
+                .allSatisfy(line -> assertThat(line).contains("\"category\":\"export\""));
+    }
+
+    @Test
+    @DisplayName("CSV 업로드를 스트리밍으로 읽어 적재하고 거절된 행을 줄 번호와 함께 반환함")
+    void test_importProducts_1() {
+        String csv = """
+            category,name
+            import,"name, with comma"
+            import,
+            import,plain
+            broken
+            """;
+
+        client.post().uri("/import/product")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalRows").isEqualTo(4)
+                .jsonPath("$.imported").isEqualTo(2)
+                .jsonPath("$.rejected").isEqualTo(2)
+                .jsonPath("$.rejectedRows[?(@.line == 5)].reason").isEqualTo("expected 2 columns but was 1")
+                .jsonPath("$.rejectedRows[?(@.line == 3)].reason").isEqualTo("name is required");
+
+        assertThat(repo.findAllByCategory("import", PageRequest.of(0, 10)).getContent())
+                .extracting(Product::getName)
+                .containsExactlyInAnyOrder("name, with comma", "plain");
+    }
+
+    @Test
+    @DisplayName("NDJSON 업로드를 적재함")
+    void test_importProducts_2() {
+        String ndjson = """
+            {"category":"import", "name":"json0"}
+            {"category":"import", "name":"json1"}
+            not json
+            """;
+
+        client.post().uri("/import/product")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(ndjson)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.imported").isEqualTo(2)
+                .jsonPath("$.rejected").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("엔드포인트별 지연 히스토그램과 요청당 SQL 실행 수가 prometheus 엔드포인트로 노출됨")
+    void test_metrics_1() {
+        client.post().uri("/delete/product/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk();
+
+        String metrics = client.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(metrics)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("product_sql_statements_count{method=\"POST\",uri=\"/delete/product/{productId}\"")
+                .contains("hikaricp_connections_active")
+                .contains("cache_gets_total{cache=\"product\"");
+    }
 }
@@ -0,0 +1,51 @@
+package com.wjc.codetest.integration.product;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-shedding-client;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "product.load-shedding.enabled=true",
+        "product.load-shedding.routes.batch.capacity=1",
+        "product.load-shedding.routes.batch.refill-per-second=0.1"
+})
+@ActiveProfiles("test")
+class ProductLoadSheddingClientTest {
+
+    @LocalServerPort
+    int port;
+
+    WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+    }
+
+    @Test
+    @DisplayName("신뢰하는 프록시가 아니면 X-Client-Id를 바꿔 보내도 같은 원격 주소의 버킷을 써서 429로 거절함")
+    void test_loadSheddingClient_1() {
+        bulkCreate("rotated-1").expectStatus().isOk();
+        bulkCreate("rotated-2").expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        bulkCreate("rotated-3").expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private WebTestClient.ResponseSpec bulkCreate(String clientId) {
+        return client.post().uri("/create/product/bulk")
+                .header("X-Client-Id", clientId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    [{"category":"shedding", "name":"item"}]
+                    """)
+                .exchange();
+    }
+}
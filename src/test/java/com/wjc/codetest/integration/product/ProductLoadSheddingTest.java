@@ -0,0 +1,77 @@
+package com.wjc.codetest.integration.product;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-shedding;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "product.load-shedding.enabled=true",
+        "product.load-shedding.trusted-proxies=127.0.0.1,0:0:0:0:0:0:0:1",
+        "product.load-shedding.routes.batch.capacity=1",
+        "product.load-shedding.routes.batch.refill-per-second=0.1"
+})
+@ActiveProfiles("test")
+class ProductLoadSheddingTest {
+
+    @LocalServerPort
+    int port;
+
+    WebTestClient client;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+    }
+
+    @Test
+    @DisplayName("클라이언트별 배치 요청 한도를 넘으면 429와 Retry-After로 거절하고 다른 클라이언트와 대화형 요청은 영향이 없음")
+    void test_loadShedding_1() {
+        bulkCreate("batch-client").expectStatus().isOk();
+        bulkCreate("batch-client")
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "10");
+
+        bulkCreate("other-client").expectStatus().isOk();
+        client.get().uri("/product/category/list")
+                .header("X-Client-Id", "batch-client")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(meterRegistry.get("product.requests.shed").tag("reason", "rate_limit").tag("route", "batch").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도와 처리 중인 요청 수 게이지를 노출함")
+    void test_loadShedding_2() {
+        assertThat(meterRegistry.get("product.concurrency.limit").gauge().value()).isBetween(4.0, 20.0);
+        assertThat(meterRegistry.get("product.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    private WebTestClient.ResponseSpec bulkCreate(String clientId) {
+        return client.post().uri("/create/product/bulk")
+                .header("X-Client-Id", clientId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    [{"category":"shedding", "name":"item"}]
+                    """)
+                .exchange();
+    }
+}
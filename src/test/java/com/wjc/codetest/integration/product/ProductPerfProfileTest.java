@@ -0,0 +1,57 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.metrics.SlowQueryLoggingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:perf-profile;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;QUERY_CACHE_SIZE=64",
+        "product.datasource.pool.sizing.core-count=4",
+        "product.sql.slow-query.threshold=0ms",
+        "product.sql.slow-query.sample-rate=1"
+})
+@ActiveProfiles({"test", "perf"})
+class ProductPerfProfileTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("perf 프로필은 core-count * 2 + spindle 식으로 고정 크기 Hikari 풀을 만듦")
+    void test_perfProfile_1() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(9);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("perf 프로필은 SQL을 stdout 대신 느린 쿼리 로거로 기록함")
+    void test_perfProfile_2() {
+        assertThat(dataSource).isInstanceOf(SlowQueryLoggingDataSource.class);
+        Timer slowQueries = meterRegistry.get("product.sql.slow").timer();
+        long before = slowQueries.count();
+
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product WHERE category = ?", Long.class, "perf");
+
+        assertThat(slowQueries.count()).isGreaterThan(before);
+    }
+}
@@ -0,0 +1,91 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.config.ReactiveReadServer;
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.repository.ProductRepository;
+import com.wjc.codetest.product.service.ProductCategoryIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"product.reactive.enabled=true", "product.reactive.port=0"})
+@ActiveProfiles("test")
+class ProductReactiveReadTest {
+
+    @Autowired
+    ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    ProductRepository repo;
+
+    @Autowired
+    ProductCategoryIndex categoryIndex;
+
+    WebTestClient client;
+
+    Long savedId;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveReadServer.getPort())
+                .build();
+
+        repo.deleteAll();
+        savedId = repo.save(new Product("reactive", "name0")).getId();
+        repo.save(new Product("reactive", "name1"));
+        repo.save(new Product("reactive", "name2"));
+        categoryIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("R2DBC로 단건 조회하며 없는 상품은 404 반환")
+    void test_reactiveRead_1() {
+        client.get().uri("/reactive/product/{productId}", savedId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(savedId)
+                .jsonPath("$.category").isEqualTo("reactive")
+                .jsonPath("$.name").isEqualTo("name0")
+                .jsonPath("$.version").isEqualTo(0);
+
+        client.get().uri("/reactive/product/{productId}", 999999L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("R2DBC 카테고리별 목록은 MVC 목록과 같은 형식으로 페이징됨")
+    void test_reactiveRead_2() {
+        client.get().uri("/reactive/product/list?category=reactive&page=0&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products.length()").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.page").isEqualTo(0);
+
+        client.get().uri("/reactive/product/list?page=0&size=2")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("R2DBC 카테고리 목록 조회")
+    void test_reactiveRead_3() {
+        client.get().uri("/reactive/product/category/list")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$").value(categories -> assertThat(categories.toString()).contains("reactive"));
+    }
+}
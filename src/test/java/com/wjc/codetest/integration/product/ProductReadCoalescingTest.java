@@ -0,0 +1,121 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.product.service.ReadCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductReadCoalescingTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    ReadCoalescer readCoalescer;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 조회는 한 번만 실행되고 모든 호출이 같은 결과를 받음")
+    void test_coalescing_1() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<CompletableFuture<String>> callers = IntStream.range(0, CALLERS)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> readCoalescer.read("test-same-key", 1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "value";
+                }), executor))
+                .toList();
+        awaitShared("test-same-key", CALLERS - 1);
+        release.countDown();
+
+        assertThat(callers).allSatisfy(caller -> assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("value"));
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("product.read.coalescing.ratio").tag("name", "test-same-key").gauge().value())
+                .isEqualTo((double) (CALLERS - 1) / CALLERS);
+    }
+
+    @Test
+    @DisplayName("조회가 실패하면 기다리던 호출도 같은 예외를 받고 다음 호출은 다시 조회함")
+    void test_coalescing_2() {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> readCoalescer.read("test-failure", 1L, () -> {
+            await(release);
+            throw new RuntimeException("product not found");
+        }), executor);
+        awaitExecuted("test-failure", 1);
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> readCoalescer.read("test-failure", 1L, () -> "unused"), executor);
+        awaitShared("test-failure", 1);
+        release.countDown();
+
+        assertThatThrownBy(leader::join).hasRootCauseMessage("product not found");
+        assertThatThrownBy(follower::join).hasRootCauseMessage("product not found");
+        assertThat(readCoalescer.read("test-failure", 1L, () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 호출은 커밋되지 않은 값을 공유하지 않도록 합치지 않음")
+    void test_coalescing_3() {
+        String value = transactionTemplate.execute(status -> readCoalescer.read("test-in-transaction", 1L, () -> "own"));
+
+        assertThat(value).isEqualTo("own");
+        assertThat(meterRegistry.find("product.read.coalescing").tag("name", "test-in-transaction").counter()).isNull();
+    }
+
+    private void awaitShared(String name, int expected) {
+        awaitCount(name, "shared", expected);
+    }
+
+    private void awaitExecuted(String name, int expected) {
+        awaitCount(name, "executed", expected);
+    }
+
+    private void awaitCount(String name, String result, int expected) {
+        AwaitCondition.until(name + " " + result + " count", () -> counter(name, result) >= expected);
+    }
+
+    private double counter(String name, String result) {
+        var counter = meterRegistry.find("product.read.coalescing").tag("name", name).tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
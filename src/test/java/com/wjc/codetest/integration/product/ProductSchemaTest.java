@@ -0,0 +1,60 @@
+package com.wjc.codetest.integration.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSchemaTest {
+
+    private static final String CATEGORY_INDEX = "IDX_PRODUCT_CATEGORY_ID";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("스키마는 Flyway 마이그레이션으로 생성됨")
+    void test_schema_1() {
+        Integer appliedVersions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"version\" = '1' AND \"success\" = TRUE", Integer.class);
+
+        assertThat(appliedVersions).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("카테고리 조회/정렬과 keyset cursor 조회는 (category, product_id) 인덱스를 사용함")
+    void test_schema_2() {
+        String listPlan = explain("SELECT p.product_id, p.category, p.name FROM product p "
+                + "WHERE p.category = 'category0' ORDER BY p.category LIMIT 20");
+        String cursorPlan = explain("SELECT p.product_id, p.category, p.name FROM product p "
+                + "WHERE p.category = 'category0' AND p.product_id > 100 ORDER BY p.product_id LIMIT 21");
+        String countPlan = explain("SELECT COUNT(p.product_id) FROM product p WHERE p.category = 'category0'");
+
+        assertThat(listPlan).contains(CATEGORY_INDEX);
+        assertThat(cursorPlan).contains(CATEGORY_INDEX);
+        assertThat(countPlan).contains(CATEGORY_INDEX);
+    }
+
+    @Test
+    @DisplayName("category, name이 null인 상품은 저장할 수 없음")
+    void test_schema_3() {
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO product (product_id, category, name) VALUES (NEXT VALUE FOR product_seq, NULL, 'name')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO product (product_id, category, name) VALUES (NEXT VALUE FOR product_seq, 'category', NULL)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,111 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.product.model.domain.WriteBehindCheckpoint;
+import com.wjc.codetest.product.repository.ProductRepository;
+import com.wjc.codetest.product.repository.WriteBehindCheckpointRepository;
+import com.wjc.codetest.product.service.ProductWriteBehindService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 대기열 한 칸, 긴 flush 간격으로 작업자가 변경을 붙잡고 있는 상태를 만들고, 테스트마다 새 컨텍스트와 DB를 사용합니다. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ProductWriteBehindShutdownTest {
+
+    static Path walPath;
+
+    @DynamicPropertySource
+    static void writeBehindProperties(DynamicPropertyRegistry registry) throws IOException {
+        walPath = Files.createTempDirectory("write-behind-shutdown").resolve("product.wal");
+        String database = "write-behind-shutdown-" + UUID.randomUUID();
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        registry.add("product.write-behind.enabled", () -> "true");
+        registry.add("product.write-behind.wal-path", walPath::toString);
+        registry.add("product.write-behind.queue-capacity", () -> "1");
+        registry.add("product.write-behind.flush-interval-ms", () -> "60000");
+        registry.add("product.write-behind.retry-after-seconds", () -> "3");
+    }
+
+    @LocalServerPort
+    int port;
+
+    WebTestClient client;
+
+    @Autowired
+    ProductRepository repo;
+
+    @Autowired
+    WriteBehindCheckpointRepository checkpointRepository;
+
+    @Autowired
+    ProductWriteBehindService writeBehindService;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 로그에 쓰지 않고 503과 Retry-After로 거절함")
+    void test_writeBehindShutdown_1() throws IOException {
+        createAsync("queued").expectStatus().isAccepted();
+        long walSize = Files.size(walPath);
+
+        createAsync("rejected")
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals("Retry-After", "3");
+
+        assertThat(Files.size(walPath)).isEqualTo(walSize);
+    }
+
+    @Test
+    @DisplayName("종료 시 새 요청은 거절하고 대기 중인 변경을 모두 반영한 뒤 checkpoint를 올리고 로그를 비움")
+    void test_writeBehindShutdown_2() throws IOException {
+        createAsync("drained").expectStatus().isAccepted();
+        assertThat(countByCategory("drained")).isZero();
+
+        writeBehindService.stop();
+
+        assertThat(countByCategory("drained")).isEqualTo(1);
+        assertThat(checkpointRepository.findById("product").map(WriteBehindCheckpoint::getAppliedSeq)).contains(1L);
+        assertThat(Files.size(walPath)).isZero();
+
+        createAsync("after-stop").expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private WebTestClient.ResponseSpec createAsync(String category) {
+        return client.post().uri("/async/create/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"category":"%s", "name":"created"}
+                    """.formatted(category))
+                .exchange();
+    }
+
+    private long countByCategory(String category) {
+        return repo.findAllByCategory(category, PageRequest.of(0, 10)).getTotalElements();
+    }
+}
@@ -0,0 +1,167 @@
+package com.wjc.codetest.integration.product;
+
+import com.wjc.codetest.product.model.domain.Product;
+import com.wjc.codetest.product.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProductWriteBehindTest {
+
+    static Path walPath;
+
+    @DynamicPropertySource
+    static void writeBehindProperties(DynamicPropertyRegistry registry) throws IOException {
+        walPath = Files.createTempDirectory("write-behind").resolve("product.wal");
+        // 이전 프로세스가 남긴 로그: 반영되지 않은 생성 1건과 기록 도중 잘린 줄
+        Files.writeString(walPath, """
+                {"seq":1,"operation":"CREATE","id":null,"category":"replayed","name":"from-wal"}
+                {"seq":2,"operation":"CRE""", StandardCharsets.UTF_8);
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:write-behind;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        registry.add("product.write-behind.enabled", () -> "true");
+        registry.add("product.write-behind.wal-path", walPath::toString);
+        registry.add("product.write-behind.flush-interval-ms", () -> "300");
+    }
+
+    @LocalServerPort
+    int port;
+
+    WebTestClient client;
+
+    @Autowired
+    ProductRepository repo;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+    }
+
+    @Test
+    @DisplayName("기동 시 checkpoint 이후의 로그를 다시 반영하고 잘린 줄은 버림")
+    void test_writeBehind_1() {
+        AwaitCondition.until(() -> countByCategory("replayed") == 1);
+    }
+
+    @Test
+    @DisplayName("비동기 생성은 202로 응답하고 백그라운드에서 반영됨")
+    void test_writeBehind_2() {
+        client.post().uri("/async/create/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"category":"async", "name":"created"}
+                    """)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.sequence").isNumber();
+
+        AwaitCondition.until(() -> countByCategory("async") == 1);
+    }
+
+    @Test
+    @DisplayName("같은 상품에 대한 연속 수정은 한 번의 쓰기로 합쳐짐")
+    void test_writeBehind_3() {
+        Long id = repo.save(new Product("coalesce", "v0")).getId();
+
+        for (int i = 1; i <= 3; i++) {
+            client.post().uri("/async/update/product")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("""
+                        {"id": %d, "category":"coalesce", "name":"v%d"}
+                        """.formatted(id, i))
+                    .exchange()
+                    .expectStatus().isAccepted();
+        }
+
+        AwaitCondition.until(() -> "v3".equals(repo.findById(id).map(Product::getName).orElse(null)));
+        assertThat(repo.findById(id).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("유효하지 않은 변경은 로그에 기록하지 않고 400 반환")
+    void test_writeBehind_4() {
+        client.post().uri("/async/create/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"category":"", "name":"created"}
+                    """)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("없는 상품에 대한 수정은 지표로 남기고 건너뛰며 이후 변경은 계속 반영됨")
+    void test_writeBehind_5() {
+        double failedBefore = itemFailures();
+
+        client.post().uri("/async/update/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"id": 999999, "category":"missing", "name":"ghost"}
+                    """)
+                .exchange()
+                .expectStatus().isAccepted();
+        client.post().uri("/async/create/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"category":"after-missing", "name":"created"}
+                    """)
+                .exchange()
+                .expectStatus().isAccepted();
+
+        AwaitCondition.until(() -> itemFailures() > failedBefore);
+        AwaitCondition.until(() -> countByCategory("after-missing") == 1);
+    }
+
+    @Test
+    @DisplayName("같은 상품의 삭제 뒤에 들어온 수정은 삭제를 덮어쓰지 않아 상품이 삭제됨")
+    void test_writeBehind_6() {
+        Long id = repo.save(new Product("delete-then-update", "v0")).getId();
+
+        client.post().uri("/async/delete/product/{productId}", id)
+                .exchange()
+                .expectStatus().isAccepted();
+        client.post().uri("/async/update/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {"id": %d, "category":"delete-then-update", "name":"v1"}
+                    """.formatted(id))
+                .exchange()
+                .expectStatus().isAccepted();
+
+        AwaitCondition.until("product deleted", () -> repo.findById(id).isEmpty());
+    }
+
+    private double itemFailures() {
+        return meterRegistry.get("product.write_behind.failed").tag("reason", "item").counter().count();
+    }
+
+    private long countByCategory(String category) {
+        return repo.findAllByCategory(category, PageRequest.of(0, 10)).getTotalElements();
+    }
+}
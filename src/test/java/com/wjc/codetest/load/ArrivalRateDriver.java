@@ -0,0 +1,80 @@
+package com.wjc.codetest.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/*
+1. 문제: 요청을 보낸 스레드가 응답을 기다린 뒤 다음 요청을 보내면(closed model) 서버가 느려질 때 요청 자체가 덜 보내져
+        느린 구간이 측정에서 빠집니다. (coordinated omission)
+2. 원인: 동시성 고정 부하
+3. 개선안: 초당 rate 건의 예정 시각을 미리 정해 두고 그 시각에 응답을 기다리지 않고 비동기로 보냅니다(open model).
+          지연은 실제로 보낸 시각이 아니라 예정 시각부터 응답까지로 기록하여, 송신이 밀린 시간도 지연에 포함합니다.
+*/
+final class ArrivalRateDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+
+    ArrivalRateDriver(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /** requestFactory는 요청 순번을 받아 보낼 요청을 만듭니다. */
+    Result run(int ratePerSecond, Duration duration, LongFunction<HttpRequest.Builder> requestFactory) {
+        Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicLong errors = new AtomicLong();
+        long total = ratePerSecond * duration.toSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>((int) total);
+
+        long startedAt = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intendedAt = startedAt + i * intervalNanos;
+            long wait = intendedAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            HttpRequest request = requestFactory.apply(i)
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            inFlight.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedAt), HIGHEST_TRACKABLE_MICROS));
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(failure -> null)
+                .join();
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        return new Result(ratePerSecond, total * 1_000_000_000.0 / elapsedNanos, errors.get(), total, histogram);
+    }
+
+    record Result(int targetRate, double achievedRate, long errors, long requests, Histogram histogram) {
+
+        double errorRatio() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
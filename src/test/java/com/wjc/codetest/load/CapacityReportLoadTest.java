@@ -0,0 +1,183 @@
+package com.wjc.codetest.load;
+
+import com.wjc.codetest.CodeTestApplication;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.service.ProductBulkService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+1. 문제: 엔드포인트별로 초당 몇 건까지 SLO(p99 지연, 오류율)를 지키는지 알 수 없어 용량 계획의 근거가 없습니다.
+2. 원인: 동시성 고정 부하 테스트만 존재하여 처리량 한계와 지연 분포를 함께 볼 수 없음
+3. 개선안: 설정한 크기의 카탈로그를 H2에 넣고 단건 조회, 깊은 페이지 조회, 카테고리 목록, 수정, 혼합 트래픽을
+          고정 도착률(open model)로 단계별로 보내 coordinated omission을 보정한 HdrHistogram 지연을 기록합니다.
+          달성률 95% 이상, p99 SLO 이내, 오류율 1% 미만을 만족한 가장 높은 도착률을 시나리오의 용량으로 보고
+          build/reports/capacity 아래 JSON/HTML 리포트로 남깁니다.
+          ./gradlew capacityReport -PcatalogSize=100000 -Prates=100,200,400 -PdurationSeconds=20 -PsloP99Millis=50
+*/
+@Tag("load")
+@Tag("capacity")
+class CapacityReportLoadTest {
+
+    private static final int CATEGORY_COUNT = 100;
+    private static final int SEED_CHUNK = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final double MIN_ACHIEVED_RATIO = 0.95;
+    private static final double MAX_ERROR_RATIO = 0.01;
+
+    private final int catalogSize = Integer.getInteger("capacity.catalogSize", 10_000);
+    private final int[] rates = Arrays.stream(System.getProperty("capacity.rates", "100,200,400,800").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("capacity.durationSeconds", 10));
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("capacity.warmupSeconds", 3));
+    private final double sloP99Millis = Double.parseDouble(System.getProperty("capacity.sloP99Millis", "100"));
+    private final Path reportDir = Path.of(System.getProperty("capacity.reportDir", "build/reports/capacity"));
+
+    private String baseUrl;
+    private long[] productIds;
+
+    @Test
+    @DisplayName("엔드포인트별 고정 도착률 부하로 SLO를 만족하는 최대 처리량을 측정하고 리포트를 남김")
+    void capacityReport() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CodeTestApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:capacity;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            seed(context.getBean(ProductBulkService.class));
+            productIds = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT product_id FROM product", Long.class)
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+            baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+
+            ArrivalRateDriver driver = new ArrivalRateDriver(HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build());
+
+            Map<String, LongFunction<HttpRequest.Builder>> scenarios = new LinkedHashMap<>();
+            scenarios.put("getById", i -> getById());
+            scenarios.put("deepPaging", i -> deepPaging());
+            scenarios.put("categoryList", i -> categoryList());
+            scenarios.put("update", this::update);
+            scenarios.put("mixed", this::mixed);
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("catalogSize", catalogSize);
+            settings.put("rates", Arrays.stream(rates).boxed().toList());
+            settings.put("durationSeconds", duration.toSeconds());
+            settings.put("warmupSeconds", warmup.toSeconds());
+            settings.put("sloP99Millis", sloP99Millis);
+            CapacityReportWriter report = new CapacityReportWriter(settings);
+
+            scenarios.forEach((scenario, requestFactory) -> {
+                driver.run(rates[0], warmup, requestFactory);
+                int capacity = 0;
+                for (int rate : rates) {
+                    ArrivalRateDriver.Result result = driver.run(rate, duration, requestFactory);
+                    report.add(scenario, result);
+                    System.out.printf("%-12s target=%5d/s achieved=%8.1f/s errors=%d p50=%.2fms p99=%.2fms max=%.2fms%n",
+                            scenario, rate, result.achievedRate(), result.errors(),
+                            result.percentileMillis(50), result.percentileMillis(99),
+                            result.histogram().getMaxValue() / 1000.0);
+                    if (!meetsSlo(result)) {
+                        break;
+                    }
+                    capacity = rate;
+                }
+                report.capacity(scenario, capacity);
+            });
+
+            report.write(reportDir);
+            System.out.println("capacity report written to " + reportDir.toAbsolutePath());
+        }
+
+        assertThat(reportDir.resolve("capacity-report.json")).exists();
+        assertThat(reportDir.resolve("capacity-report.html")).exists();
+    }
+
+    private boolean meetsSlo(ArrivalRateDriver.Result result) {
+        return result.achievedRate() >= result.targetRate() * MIN_ACHIEVED_RATIO
+                && result.percentileMillis(99) <= sloP99Millis
+                && result.errorRatio() < MAX_ERROR_RATIO;
+    }
+
+    private void seed(ProductBulkService productBulkService) {
+        for (int from = 0; from < catalogSize; from += SEED_CHUNK) {
+            List<BulkCreateProductItem> items = IntStream.range(from, Math.min(from + SEED_CHUNK, catalogSize))
+                    .mapToObj(i -> new BulkCreateProductItem("category" + (i % CATEGORY_COUNT), "name" + i))
+                    .toList();
+            productBulkService.createAll(items);
+        }
+    }
+
+    /** 80% 단건 조회, 10% 깊은 페이지 조회, 5% 카테고리 목록, 5% 수정 */
+    private HttpRequest.Builder mixed(long sequence) {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 80) {
+            return getById();
+        }
+        if (roll < 90) {
+            return deepPaging();
+        }
+        if (roll < 95) {
+            return categoryList();
+        }
+        return update(sequence);
+    }
+
+    private HttpRequest.Builder getById() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/get/product/by/" + randomProductId()));
+    }
+
+    /** 카테고리 안의 마지막 10% 구간 페이지를 조회하여 OFFSET이 큰 경우의 비용을 봅니다. */
+    private HttpRequest.Builder deepPaging() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lastPage = Math.max(catalogSize / CATEGORY_COUNT / PAGE_SIZE - 1, 0);
+        int page = lastPage - random.nextInt(lastPage / 10 + 1);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/product/list?category=category"
+                + random.nextInt(CATEGORY_COUNT) + "&page=" + page + "&size=" + PAGE_SIZE));
+    }
+
+    private HttpRequest.Builder categoryList() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/product/category/list"));
+    }
+
+    private HttpRequest.Builder update(long sequence) {
+        long id = randomProductId();
+        String body = """
+                {"id": %d, "category": "category%d", "name": "updated%d"}
+                """.formatted(id, id % CATEGORY_COUNT, sequence);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/update/product"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private long randomProductId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+}
@@ -0,0 +1,127 @@
+package com.wjc.codetest.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시나리오/부하 단계별 결과를 capacity-report.json과 capacity-report.html로 씁니다.
+ * JSON에는 HdrHistogram을 압축/Base64 인코딩하여 함께 넣어 이전 실행과 분포를 비교할 수 있게 합니다.
+ */
+final class CapacityReportWriter {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> settings;
+    private final Map<String, List<ArrivalRateDriver.Result>> results = new LinkedHashMap<>();
+    private final Map<String, Integer> capacities = new LinkedHashMap<>();
+
+    CapacityReportWriter(Map<String, Object> settings) {
+        this.settings = settings;
+    }
+
+    void add(String scenario, ArrivalRateDriver.Result result) {
+        results.computeIfAbsent(scenario, key -> new ArrayList<>()).add(result);
+    }
+
+    void capacity(String scenario, int ratePerSecond) {
+        capacities.put(scenario, ratePerSecond);
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("capacity-report.json"), json(), StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("capacity-report.html"), html(), StandardCharsets.UTF_8);
+    }
+
+    private String json() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("capacityPerSecond", capacities);
+
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        results.forEach((scenario, steps) -> scenarios.put(scenario, steps.stream().map(this::step).toList()));
+        report.put("scenarios", scenarios);
+
+        return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+    }
+
+    private Map<String, Object> step(ArrivalRateDriver.Result result) {
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("targetRate", result.targetRate());
+        step.put("achievedRate", round(result.achievedRate()));
+        step.put("requests", result.requests());
+        step.put("errors", result.errors());
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + formatPercentile(percentile), round(result.percentileMillis(percentile)));
+        }
+        latency.put("max", round(result.histogram().getMaxValue() / 1000.0));
+        step.put("latencyMillis", latency);
+
+        ByteBuffer buffer = ByteBuffer.allocate(result.histogram().getNeededByteBufferCapacity());
+        int length = result.histogram().encodeIntoCompressedByteBuffer(buffer);
+        step.put("hdrHistogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return step;
+    }
+
+    private String html() {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Product API capacity report</title>")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse;margin-bottom:2em}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}.fail{background:#fdd}</style>")
+                .append("</head><body><h1>Product API capacity report</h1>")
+                .append("<p>").append(escape(settings.toString())).append("</p>")
+                .append("<h2>Capacity (highest passing rate, req/s)</h2><table><tr><th>scenario</th><th>req/s</th></tr>");
+        capacities.forEach((scenario, rate) -> html.append("<tr><td>").append(escape(scenario)).append("</td><td>")
+                .append(rate).append("</td></tr>"));
+        html.append("</table>");
+
+        results.forEach((scenario, steps) -> {
+            html.append("<h2>").append(escape(scenario)).append("</h2><table><tr><th>target</th><th>achieved</th>")
+                    .append("<th>errors</th>");
+            for (double percentile : PERCENTILES) {
+                html.append("<th>p").append(formatPercentile(percentile)).append(" ms</th>");
+            }
+            html.append("<th>max ms</th></tr>");
+            for (ArrivalRateDriver.Result step : steps) {
+                boolean passed = capacities.getOrDefault(scenario, 0) >= step.targetRate();
+                html.append(passed ? "<tr>" : "<tr class=\"fail\">")
+                        .append("<td>").append(step.targetRate()).append("</td>")
+                        .append("<td>").append(round(step.achievedRate())).append("</td>")
+                        .append("<td>").append(step.errors()).append("</td>");
+                for (double percentile : PERCENTILES) {
+                    html.append("<td>").append(round(step.percentileMillis(percentile))).append("</td>");
+                }
+                html.append("<td>").append(round(step.histogram().getMaxValue() / 1000.0)).append("</td></tr>");
+            }
+            html.append("</table>");
+        });
+        return html.append("</body></html>").toString();
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,162 @@
+package com.wjc.codetest.load;
+
+import com.wjc.codetest.CodeTestApplication;
+import com.wjc.codetest.config.ReactiveReadServer;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.service.ProductBulkService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+1. 문제: R2DBC/WebFlux 조회 API가 MVC/JPA 조회보다 적은 스레드로 같은 처리량을 내는지 확인할 수단이 없습니다.
+2. 원인: 부하 테스트 부재
+3. 개선안: 한 애플리케이션에 두 서버를 띄우고 같은 카테고리 목록 조회를 같은 동시성으로 보내
+          처리량, p50/p99 지연, 측정 중 최대 서버 스레드 수를 출력합니다. ./gradlew loadTest 로 실행합니다.
+          클라이언트는 sendAsync와 작은 공유 executor를 쓰고 Semaphore로 동시 요청 수만 제한하여 두 실행에서 같은 수의 스레드를 쓰며,
+          스레드 수는 JVM 전체가 아니라 각 서버 스택의 스레드 이름 접두어(Tomcat http-nio-*, Reactor Netty reactor-* 와
+          Reactor 스케줄러)로 세어 클라이언트 스레드가 비교에 섞이지 않게 합니다.
+*/
+@Tag("load")
+class ReactiveReadLoadTest {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int CATEGORY_COUNT = 100;
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS = 20_000;
+    private static final int CLIENT_THREADS = 4;
+    private static final long THREAD_SAMPLE_INTERVAL_MILLIS = 20;
+    private static final List<String> MVC_THREAD_PREFIXES = List.of("http-nio-");
+    private static final List<String> REACTIVE_THREAD_PREFIXES = List.of("reactor-", "boundedElastic-", "parallel-");
+
+    @Test
+    @DisplayName("MVC/JPA와 WebFlux/R2DBC 목록 조회의 처리량, p99 지연, 스레드 수 비교")
+    void compareReadStacks() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CodeTestApplication.class)
+                .properties(
+                        "server.port=0",
+                        "product.reactive.enabled=true",
+                        "product.reactive.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-reactive;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "product.reactive.r2dbc.url=r2dbc:h2:mem:///load-reactive?options=MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            seed(context.getBean(ProductBulkService.class));
+            int mvcPort = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            int reactivePort = context.getBean(ReactiveReadServer.class).getPort();
+
+            LoadResult mvc = drive("mvc", "http://localhost:" + mvcPort + "/product/list", MVC_THREAD_PREFIXES);
+            LoadResult reactive = drive("reactive", "http://localhost:" + reactivePort + "/reactive/product/list", REACTIVE_THREAD_PREFIXES);
+
+            System.out.println(mvc);
+            System.out.println(reactive);
+
+            assertThat(mvc.errors()).isZero();
+            assertThat(reactive.errors()).isZero();
+        }
+    }
+
+    private void seed(ProductBulkService productBulkService) {
+        List<BulkCreateProductItem> items = IntStream.range(0, CATALOG_SIZE)
+                .mapToObj(i -> new BulkCreateProductItem("category" + (i % CATEGORY_COUNT), "name" + i))
+                .toList();
+        productBulkService.createAll(items);
+    }
+
+    private LoadResult drive(String stack, String baseUrl, List<String> serverThreadPrefixes) throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        CountDownLatch completed = new CountDownLatch(REQUESTS);
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger errors = new AtomicInteger();
+
+        AtomicInteger peakServerThreads = new AtomicInteger(countThreads(serverThreadPrefixes));
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakServerThreads.accumulateAndGet(countThreads(serverThreadPrefixes), Math::max),
+                0, THREAD_SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int requestIndex = i;
+            URI uri = URI.create(baseUrl + "?category=category%d&page=%d&size=20"
+                    .formatted(requestIndex % CATEGORY_COUNT, requestIndex % 5));
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            inFlight.acquire();
+            long sentAt = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        latencies[requestIndex] = System.nanoTime() - sentAt;
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                        completed.countDown();
+                    });
+        }
+        completed.await();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        sampler.shutdownNow();
+        clientExecutor.shutdown();
+
+        Arrays.sort(latencies);
+        return new LoadResult(stack,
+                REQUESTS * 1_000_000_000.0 / elapsedNanos,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                peakServerThreads.get(),
+                errors.get());
+    }
+
+    private int countThreads(List<String> prefixes) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int count = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+            if (info != null && prefixes.stream().anyMatch(info.getThreadName()::startsWith)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private double percentileMillis(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record LoadResult(String stack, double throughput, double p50Millis, double p99Millis, int peakServerThreads, int errors) {
+
+        @Override
+        public String toString() {
+            return "%-8s concurrency=%d throughput=%.1f req/s p50=%.2fms p99=%.2fms peakServerThreads=%d errors=%d"
+                    .formatted(stack, CONCURRENCY, throughput, p50Millis, p99Millis, peakServerThreads, errors);
+        }
+    }
+}
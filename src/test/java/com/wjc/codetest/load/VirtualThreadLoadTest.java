@@ -0,0 +1,141 @@
+package com.wjc.codetest.load;
+
+import com.wjc.codetest.CodeTestApplication;
+import com.wjc.codetest.product.model.request.BulkCreateProductItem;
+import com.wjc.codetest.product.service.ProductBulkService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+1. 문제: 가상 스레드 모드가 플랫폼 스레드 모드보다 동시 처리량과 p99 지연이 나은지 확인할 수단이 없습니다.
+2. 원인: 부하 테스트 부재
+3. 개선안: 같은 데이터를 적재한 두 애플리케이션(Tomcat 스레드 50개 / virtual-threads 프로파일)에 같은 동시성으로 요청을 보내
+          처리량과 p50/p99 지연을 출력합니다. ./gradlew loadTest -PvirtualThreads 로 실행합니다.
+*/
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadTest {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int CATEGORY_COUNT = 100;
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    @DisplayName("플랫폼 스레드와 가상 스레드 모드의 처리량과 p99 지연 비교")
+    void compareRequestExecutionModes() throws Exception {
+        LoadResult platform = run("platform", "spring.threads.virtual.enabled=false", "server.tomcat.threads.max=50");
+        LoadResult virtual = run("virtual", "spring.profiles.active=virtual-threads");
+
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private LoadResult run(String mode, String... properties) throws Exception {
+        List<String> allProperties = new ArrayList<>(Arrays.asList(properties));
+        allProperties.add("server.port=0");
+        allProperties.add("spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        allProperties.add("spring.jpa.show-sql=false");
+        allProperties.add("logging.level.root=WARN");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CodeTestApplication.class)
+                .properties(allProperties.toArray(String[]::new))
+                .run()) {
+            seed(context.getBean(ProductBulkService.class));
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            return drive(mode, port);
+        }
+    }
+
+    private void seed(ProductBulkService productBulkService) {
+        List<BulkCreateProductItem> items = IntStream.range(0, CATALOG_SIZE)
+                .mapToObj(i -> new BulkCreateProductItem("category" + (i % CATEGORY_COUNT), "name" + i))
+                .toList();
+        productBulkService.createAll(items);
+    }
+
+    private LoadResult drive(String mode, int port) throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(CONCURRENCY);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger errors = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int requestIndex = i;
+            futures.add(workers.submit(() -> {
+                String body = """
+                    {"category":"category%d", "page":%d, "size":20}
+                    """.formatted(requestIndex % CATEGORY_COUNT, requestIndex % 5);
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/product/list"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                long sentAt = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+                latencies[requestIndex] = System.nanoTime() - sentAt;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        workers.shutdown();
+        clientExecutor.shutdown();
+
+        Arrays.sort(latencies);
+        return new LoadResult(mode,
+                REQUESTS * 1_000_000_000.0 / elapsedNanos,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                errors.get());
+    }
+
+    private double percentileMillis(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record LoadResult(String mode, double throughput, double p50Millis, double p99Millis, int errors) {
+
+        @Override
+        public String toString() {
+            return "%-8s concurrency=%d throughput=%.1f req/s p50=%.2fms p99=%.2fms errors=%d"
+                    .formatted(mode, CONCURRENCY, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.wjc.codetest.product.service;
+
+import com.wjc.codetest.product.model.response.ProductResponse;
+import com.wjc.codetest.product.model.response.ProductSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private static final int CATALOG_SIZE = 200_000;
+
+    ProductSearchIndex searchIndex = new ProductSearchIndex(null);
+
+    /** 모든 상품명이 "a"로 시작하는 토큰을 가지며, 정확히 "a"인 토큰은 상품 한 개뿐인 카탈로그 */
+    @BeforeEach
+    void setUp() {
+        List<ProductResponse> products = new ArrayList<>(CATALOG_SIZE);
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            products.add(new ProductResponse(id, "category" + (id % 10), "apple" + id + " z" + id, 0L));
+        }
+        products.add(new ProductResponse(CATALOG_SIZE + 1L, "category0", "a", 0L));
+        searchIndex.indexAfterCommit(products);
+    }
+
+    @Test
+    @DisplayName("한 글자 접두어는 후보 예산까지만 순회하고 matched를 하한값으로 내려주며 완전히 일치하는 상품이 먼저 나옴")
+    void test_search_1() {
+        ProductSearchResponse response = searchIndex.search("a", null, 10);
+
+        assertThat(response.truncated()).isTrue();
+        assertThat(response.matched()).isEqualTo(ProductSearchIndex.MAX_CANDIDATES);
+        assertThat(response.products()).hasSize(10);
+        assertThat(response.products().get(0).name()).isEqualTo("a");
+    }
+
+    @Test
+    @DisplayName("후보가 적은 토큰을 기준으로 순회하여 짧은 접두어가 섞여도 전체를 정확히 셈")
+    void test_search_2() {
+        ProductSearchResponse response = searchIndex.search("a z199999", null, 10);
+
+        assertThat(response.truncated()).isFalse();
+        assertThat(response.matched()).isEqualTo(1);
+        assertThat(response.products()).extracting(ProductResponse::id).containsExactly(199999L);
+    }
+}
@@ -0,0 +1,73 @@
+package com.wjc.codetest.throttle;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    AtomicInteger pendingConnections = new AtomicInteger();
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, THRESHOLD, 0.5, pendingConnections::get);
+
+    @Test
+    @DisplayName("한도만큼만 동시에 처리하고 배치 요청은 batchShare까지만 자리를 씀")
+    void test_limiter_1() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(true)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(true)).isFalse();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(false)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(false)).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("느린 응답이나 커넥션 대기가 생기면 cooldown마다 한 번씩 한도를 줄이고 min 아래로는 내리지 않음")
+    void test_limiter_2() {
+        long now = System.nanoTime();
+        acquireAndRelease(SLOW, now);
+        acquireAndRelease(SLOW, now + 1);
+        assertThat(limiter.limit()).isEqualTo(9);
+
+        pendingConnections.set(1);
+        for (int i = 1; i <= 30; i++) {
+            acquireAndRelease(FAST, now + i * THRESHOLD);
+        }
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("한도의 절반 이상을 쓰면서 빠르게 끝나면 한도를 조금씩 늘리고 배치 응답 시간은 반영하지 않음")
+    void test_limiter_3() {
+        long now = System.nanoTime();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < limiter.limit(); i++) {
+                limiter.tryAcquire(false);
+            }
+            while (limiter.inFlight() > 0) {
+                limiter.release(false, FAST, now);
+            }
+        }
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(10);
+
+        limiter.tryAcquire(true);
+        limiter.release(true, SLOW, now + THRESHOLD);
+        assertThat(limiter.limit()).isEqualTo(grown);
+    }
+
+    private void acquireAndRelease(long latency, long now) {
+        assertThat(limiter.tryAcquire(false)).isTrue();
+        limiter.release(false, latency, now);
+    }
+}